@@ -1,6 +1,7 @@
 plugins {
     java
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.thelab"
@@ -20,6 +21,18 @@ repositories {
 
 dependencies {
     compileOnly("io.papermc.paper:paper-api:1.21.1-R0.1-SNAPSHOT")
+    // Loaded at runtime by Paper from plugin.yml "libraries"
+    compileOnly("com.zaxxer:HikariCP:5.1.0")
+    // Benchmarks run outside a server, so they need the API on their runtime classpath
+    jmh("io.papermc.paper:paper-api:1.21.1-R0.1-SNAPSHOT")
+}
+
+jmh {
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Reports bytes allocated per operation next to the timings
+    profilers.add("gc")
 }
 
 tasks {
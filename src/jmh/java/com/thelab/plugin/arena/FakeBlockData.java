@@ -0,0 +1,27 @@
+package com.thelab.plugin.arena;
+
+import org.bukkit.block.data.BlockData;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stand-in {@link BlockData} for benchmarks, which run without a server to create real ones.
+ * Instances with the same id are equal, and {@code clone()} returns a new equal instance, which is
+ * all that snapshot capture and the old map-based capture rely on.
+ */
+final class FakeBlockData {
+
+    private FakeBlockData() {}
+
+    static BlockData of(int id) {
+        return (BlockData) Proxy.newProxyInstance(BlockData.class.getClassLoader(), new Class<?>[]{BlockData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "clone" -> of(id);
+                    case "equals" -> args[0] instanceof BlockData other && Proxy.isProxyClass(other.getClass())
+                            && other.hashCode() == id;
+                    case "hashCode" -> id;
+                    case "toString", "getAsString" -> "fake[" + id + "]";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,85 @@
+package com.thelab.plugin.arena;
+
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.BlockVector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Capturing and walking a synthetic 100^3 (1M block) region with 10 distinct block states:
+ * the palette-packed {@link RegionSnapshot} against the earlier {@code HashMap<BlockVector, BlockData>}
+ * that held a cloned block data per block. Run with {@code ./gradlew jmh}; the gc profiler's
+ * {@code gc.alloc.rate.norm} for the capture benchmarks gives the bytes each capture allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RegionSnapshotBenchmark {
+
+    private static final int SIZE = 100;
+    private static final int STATES = 10;
+
+    private RegionBounds bounds;
+    private BlockData[] states;
+    private RegionSnapshot snapshot;
+    private Map<BlockVector, BlockData> map;
+
+    @Setup
+    public void setup() {
+        bounds = new RegionBounds(null, 0, 0, 0, SIZE - 1, SIZE - 1, SIZE - 1);
+        states = new BlockData[STATES];
+        for (int i = 0; i < STATES; i++) states[i] = FakeBlockData.of(i);
+        snapshot = captureSnapshot();
+        map = captureHashMap();
+    }
+
+    /** Layered terrain with a few columns of a different block, so runs are long but not endless. */
+    private BlockData stateAt(int x, int y, int z) {
+        return states[(y / STATES + (x % 7 == 0 && z % 5 == 0 ? 1 : 0)) % STATES];
+    }
+
+    @Benchmark
+    public RegionSnapshot captureSnapshot() {
+        RegionSnapshot.Builder builder = RegionSnapshot.builder(bounds);
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int z = 0; z < SIZE; z++) {
+                    builder.set(bounds.index(x, y, z), stateAt(x, y, z));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public Map<BlockVector, BlockData> captureHashMap() {
+        Map<BlockVector, BlockData> blocks = new HashMap<>();
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int z = 0; z < SIZE; z++) {
+                    // getBlockData() hands out a new instance per block
+                    blocks.put(new BlockVector(x, y, z), stateAt(x, y, z).clone());
+                }
+            }
+        }
+        return blocks;
+    }
+
+    @Benchmark
+    public void walkSnapshot(Blackhole bh) {
+        int volume = bounds.getVolume();
+        for (int i = 0; i < volume; i++) bh.consume(snapshot.get(i));
+    }
+
+    @Benchmark
+    public void walkHashMap(Blackhole bh) {
+        for (Map.Entry<BlockVector, BlockData> entry : map.entrySet()) {
+            bh.consume(entry.getKey());
+            bh.consume(entry.getValue());
+        }
+    }
+}
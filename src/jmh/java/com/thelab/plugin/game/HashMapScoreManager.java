@@ -0,0 +1,30 @@
+package com.thelab.plugin.game;
+
+import java.util.*;
+
+/**
+ * Baseline for {@link ScoreManagerBenchmark}: the scoring paths of ScoreManager as they were
+ * before scores moved to slot-indexed arrays, with boxed {@code Integer} values in hash maps.
+ */
+class HashMapScoreManager {
+
+    private final Map<UUID, Integer> experimentScores = new HashMap<>();
+    private final Map<UUID, Integer> totalScores = new HashMap<>();
+
+    void addScore(UUID player, int points) {
+        experimentScores.merge(player, points, Integer::sum);
+    }
+
+    void registerPlayer(UUID player) {
+        experimentScores.putIfAbsent(player, 0);
+        totalScores.putIfAbsent(player, 0);
+    }
+
+    void resetExperimentScores() {
+        Set<UUID> players = new HashSet<>(experimentScores.keySet());
+        experimentScores.clear();
+        for (UUID p : players) {
+            experimentScores.put(p, 0);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.thelab.plugin.game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score updates and per-experiment resets: the slot-indexed {@link ScoreManager} against the
+ * earlier {@code HashMap<UUID, Integer>} version. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoreManagerBenchmark {
+
+    @Param({"16", "64"})
+    public int players;
+
+    private UUID[] ids;
+    private ScoreManager slots;
+    private HashMapScoreManager maps;
+    private int next;
+
+    @Setup
+    public void setup() {
+        ids = new UUID[players];
+        slots = new ScoreManager();
+        maps = new HashMapScoreManager();
+        for (int i = 0; i < players; i++) {
+            ids[i] = UUID.randomUUID();
+            slots.registerPlayer(ids[i]);
+            maps.registerPlayer(ids[i]);
+        }
+    }
+
+    private UUID nextPlayer() {
+        UUID id = ids[next];
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return id;
+    }
+
+    @Benchmark
+    public void addScoreSlots() {
+        slots.addScore(nextPlayer(), 1);
+    }
+
+    @Benchmark
+    public void addScoreHashMap() {
+        maps.addScore(nextPlayer(), 1);
+    }
+
+    @Benchmark
+    public void resetExperimentScoresSlots() {
+        slots.resetExperimentScores();
+    }
+
+    @Benchmark
+    public void resetExperimentScoresHashMap() {
+        maps.resetExperimentScores();
+    }
+}
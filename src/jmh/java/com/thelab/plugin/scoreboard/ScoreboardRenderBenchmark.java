@@ -0,0 +1,92 @@
+package com.thelab.plugin.scoreboard;
+
+import com.thelab.plugin.config.MessageTemplate;
+import com.thelab.plugin.game.ScoreManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One game-layout refresh of an arena: arena-wide lines rendered once and shared, against
+ * rebuilding every line and every value for each viewer as before. Player names come from a
+ * map standing in for {@code Bukkit.getPlayer}; sending to the client is not measured.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoreboardRenderBenchmark {
+
+    private static final List<String> GAME_LINES = List.of(
+            "&7Round {round}", "", "&fExperiment: &a{experiment_name}",
+            "&fYour Score: &a{score}", "&fYour Rank: &e#{rank}", "",
+            "&e1. &f{player1} &7- &a{score1}", "&e2. &f{player2} &7- &a{score2}", "&e3. &f{player3} &7- &a{score3}",
+            "", "&ewww.yourserver.com");
+
+    @Param({"16", "64"})
+    public int viewers;
+
+    private UUID[] ids;
+    private final Map<UUID, String> names = new HashMap<>();
+    private ScoreManager scores;
+    private SidebarLayout layout;
+    private final StringBuilder buffer = new StringBuilder(64);
+    private final List<String> lines = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        ids = new UUID[viewers];
+        scores = new ScoreManager();
+        for (int i = 0; i < viewers; i++) {
+            ids[i] = UUID.randomUUID();
+            names.put(ids[i], "Player" + i);
+            scores.registerPlayer(ids[i]);
+            scores.addScore(ids[i], ThreadLocalRandom.current().nextInt(100));
+            scores.addToTotal(ids[i], ThreadLocalRandom.current().nextInt(300));
+        }
+        layout = new SidebarLayout("&e&lTHE LAB", GAME_LINES, ScoreboardManager.GAME_KEYS);
+    }
+
+    @Benchmark
+    public void sharedLines(Blackhole bh) {
+        fillArenaValues(layout.values);
+        layout.renderShared(buffer);
+        for (UUID id : ids) {
+            String score = String.valueOf(scores.getScore(id));
+            String rank = String.valueOf(scores.getExperimentRank(id));
+            bh.consume(layout.renderFor(buffer, score, rank, lines));
+        }
+    }
+
+    @Benchmark
+    public void perPlayerRebuild(Blackhole bh) {
+        String[] v = layout.values;
+        for (UUID id : ids) {
+            fillArenaValues(v);
+            v[2] = String.valueOf(scores.getScore(id));
+            v[3] = String.valueOf(scores.getExperimentRank(id));
+            lines.clear();
+            for (MessageTemplate template : layout.lines) lines.add(template.render(buffer, v));
+            bh.consume(lines);
+        }
+    }
+
+    /** The arena-wide game values, filled as ScoreboardManager fills them. */
+    private void fillArenaValues(String[] v) {
+        v[0] = 2 + "/" + 3;
+        v[1] = "Electric Floor";
+        List<UUID> top = scores.getTopTotal(3);
+        for (int i = 0; i < 3; i++) {
+            if (i < top.size()) {
+                v[4 + i * 2] = names.get(top.get(i));
+                v[5 + i * 2] = String.valueOf(scores.getTotalScore(top.get(i)));
+            } else {
+                v[4 + i * 2] = "-";
+                v[5 + i * 2] = "0";
+            }
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.thelab.plugin;
 import com.thelab.plugin.arena.ArenaJoinHandler;
 import com.thelab.plugin.arena.ArenaManager;
 import com.thelab.plugin.arena.ArenaSetupWizard;
+import com.thelab.plugin.arena.RestoreScheduler;
 import com.thelab.plugin.commands.TheLabCommand;
 import com.thelab.plugin.config.ConfigManager;
 import com.thelab.plugin.game.GameManager;
+import com.thelab.plugin.game.TimingWheel;
+import com.thelab.plugin.listeners.ArenaChangeListener;
 import com.thelab.plugin.listeners.ArenaProtectionListener;
 import com.thelab.plugin.listeners.ChatListener;
 import com.thelab.plugin.listeners.PlayerConnectionListener;
@@ -20,6 +23,10 @@ import com.thelab.plugin.stats.StatsManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** Main plugin class for TheLab MiniGame. */
 public class TheLabPlugin extends JavaPlugin {
@@ -36,6 +43,9 @@ public class TheLabPlugin extends JavaPlugin {
     private DrZuk narratorManager;
     private ArenaSetupWizard setupWizard;
     private ArenaJoinHandler arenaJoinHandler;
+    private ExecutorService workerPool;
+    private RestoreScheduler restoreScheduler;
+    private TimingWheel timingWheel;
 
     @Override
     public void onEnable() {
@@ -45,14 +55,26 @@ public class TheLabPlugin extends JavaPlugin {
         configManager = new ConfigManager(this);
         configManager.load();
 
+        // Worker threads for off-main-thread work such as region capture
+        int workers = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger workerId = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "TheLab-Worker-" + workerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
         // Managers
         playerManager = new PlayerManager();
+        restoreScheduler = new RestoreScheduler(this);
+        timingWheel = new TimingWheel(this);
         arenaManager = new ArenaManager(configManager);
         arenaManager.loadArenas();
         gameManager = new GameManager(this);
         statsManager = new StatsManager(this);
         statsManager.initialize();
         scoreboardManager = new ScoreboardManager(this);
+        arenaManager.setChangeListener(scoreboardManager::markDirty);
         if (configManager.isScoreboardEnabled()) {
             scoreboardManager.start();
         }
@@ -66,6 +88,7 @@ public class TheLabPlugin extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new PlayerConnectionListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerProtectionListener(this), this);
         getServer().getPluginManager().registerEvents(new ArenaProtectionListener(this), this);
+        getServer().getPluginManager().registerEvents(new ArenaChangeListener(this), this);
         getServer().getPluginManager().registerEvents(new ChatListener(this), this);
         getServer().getPluginManager().registerEvents(new WorldProtectionListener(this), this);
         getServer().getPluginManager().registerEvents(new SignListener(this), this);
@@ -96,10 +119,20 @@ public class TheLabPlugin extends JavaPlugin {
             }
         }
 
+        if (restoreScheduler != null) restoreScheduler.shutdown();
+        if (timingWheel != null) timingWheel.shutdown();
         if (scoreboardManager != null) scoreboardManager.stop();
         if (signManager != null) signManager.shutdown();
         if (narratorManager != null) narratorManager.shutdown();
         if (statsManager != null) statsManager.shutdown();
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+            try {
+                workerPool.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
 
         getLogger().info("TheLab MiniGame disabled.");
     }
@@ -116,4 +149,7 @@ public class TheLabPlugin extends JavaPlugin {
     public DrZuk getNarratorManager() { return narratorManager; }
     public Optional<ArenaSetupWizard> getSetupWizard() { return Optional.ofNullable(setupWizard); }
     public ArenaJoinHandler getArenaJoinHandler() { return arenaJoinHandler; }
+    public ExecutorService getWorkerPool() { return workerPool; }
+    public RestoreScheduler getRestoreScheduler() { return restoreScheduler; }
+    public TimingWheel getTimingWheel() { return timingWheel; }
 }
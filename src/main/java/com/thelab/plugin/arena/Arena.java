@@ -1,49 +1,118 @@
 package com.thelab.plugin.arena;
 
 import com.thelab.plugin.utils.MessageUtil;
+import com.thelab.plugin.utils.SpatialHashGrid;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /** Represents a single TheLab arena instance. */
 public class Arena {
 
     private final ArenaConfig config;
     private ArenaState state;
-    private final List<UUID> players = new ArrayList<>();
-    private final List<UUID> spectators = new ArrayList<>();
+    private final Set<UUID> players = new LinkedHashSet<>();
+    private final Set<UUID> spectators = new LinkedHashSet<>();
+    // Immutable online views, rebuilt on the main thread whenever membership changes; quitters are
+    // removed from the arena, so the online filter only guards against stale members
+    private volatile List<Player> playerView = List.of();
+    private volatile List<Player> spectatorView = List.of();
+    private volatile List<Player> participantView = List.of();
     private final ArenaRegionManager regionManager;
-
-    public Arena(ArenaConfig config) {
+    private final Map<UUID, Arena> playerIndex;
+    // Told when state or membership changes, so views of the arena (scoreboards) can refresh
+    private final Consumer<Arena> onChange;
+    // Active player positions, refilled at most once per server tick on first use
+    private final SpatialHashGrid<Player> playerGrid = new SpatialHashGrid<>(4.0);
+    private int playerGridTick = -1;
+
+    public Arena(ArenaConfig config, Map<UUID, Arena> playerIndex, Consumer<Arena> onChange) {
         this.config = config;
+        this.playerIndex = playerIndex;
+        this.onChange = onChange;
         this.state = config.isEnabled() ? ArenaState.WAITING : ArenaState.DISABLED;
-        this.regionManager = new ArenaRegionManager(config);
+        this.regionManager = new ArenaRegionManager(this);
     }
 
     // ---- State ----
 
     public ArenaState getState() { return state; }
 
-    public void setState(ArenaState state) { this.state = state; }
+    public void setState(ArenaState state) {
+        if (this.state == state) return;
+        this.state = state;
+        onChange.accept(this);
+    }
 
     // ---- Players ----
 
     public void addPlayer(Player player) {
-        players.add(player.getUniqueId());
+        if (players.add(player.getUniqueId())) refreshViews();
+        playerIndex.put(player.getUniqueId(), this);
     }
 
     public void removePlayer(Player player) {
-        players.remove(player.getUniqueId());
+        if (players.remove(player.getUniqueId())) refreshViews();
+        unindex(player.getUniqueId());
     }
 
     public void addSpectator(Player player) {
-        spectators.add(player.getUniqueId());
+        if (spectators.add(player.getUniqueId())) refreshViews();
+        playerIndex.put(player.getUniqueId(), this);
     }
 
     public void removeSpectator(Player player) {
-        spectators.remove(player.getUniqueId());
+        if (spectators.remove(player.getUniqueId())) refreshViews();
+        unindex(player.getUniqueId());
+    }
+
+    /** Drops the index entry once the player is neither a player nor a spectator here. */
+    private void unindex(UUID uuid) {
+        if (!players.contains(uuid) && !spectators.contains(uuid)) {
+            playerIndex.remove(uuid, this);
+        }
+    }
+
+    /** Rebuilds the cached online views. Call on the main thread after membership changes. */
+    public void refreshViews() {
+        List<Player> onlinePlayers = resolveOnline(players);
+        List<Player> onlineSpectators = resolveOnline(spectators);
+        Player[] all = new Player[onlinePlayers.size() + onlineSpectators.size()];
+        int i = 0;
+        for (Player p : onlinePlayers) all[i++] = p;
+        for (Player p : onlineSpectators) all[i++] = p;
+        playerView = onlinePlayers;
+        spectatorView = onlineSpectators;
+        participantView = List.of(all);
+        playerGridTick = -1;
+        onChange.accept(this);
+    }
+
+    /** Returns a spatial index of the active players' positions as of the current tick. Main thread only. */
+    public SpatialHashGrid<Player> getPlayerGrid() {
+        int tick = Bukkit.getCurrentTick();
+        if (tick != playerGridTick) {
+            playerGrid.clear();
+            for (Player p : playerView) {
+                Location loc = p.getLocation();
+                playerGrid.insert(p, loc.getX(), loc.getY(), loc.getZ());
+            }
+            playerGridTick = tick;
+        }
+        return playerGrid;
+    }
+
+    private static List<Player> resolveOnline(Set<UUID> uuids) {
+        Player[] online = new Player[uuids.size()];
+        int count = 0;
+        for (UUID uuid : uuids) {
+            Player p = Bukkit.getPlayer(uuid);
+            if (p != null) online[count++] = p;
+        }
+        return List.of(count == online.length ? online : Arrays.copyOf(online, count));
     }
 
     public boolean isPlayer(Player player) {
@@ -58,35 +127,17 @@ public class Arena {
         return isPlayer(player) || isSpectator(player);
     }
 
-    /** Returns all online players (non-spectators) currently in the arena. */
-    public List<Player> getPlayers() {
-        List<Player> online = new ArrayList<>();
-        for (UUID uuid : players) {
-            Player p = Bukkit.getPlayer(uuid);
-            if (p != null) online.add(p);
-        }
-        return online;
-    }
+    /** Returns all online players (non-spectators) currently in the arena. Immutable, safe to iterate while members change. */
+    public List<Player> getPlayers() { return playerView; }
 
-    /** Returns all online spectators. */
-    public List<Player> getSpectators() {
-        List<Player> online = new ArrayList<>();
-        for (UUID uuid : spectators) {
-            Player p = Bukkit.getPlayer(uuid);
-            if (p != null) online.add(p);
-        }
-        return online;
-    }
+    /** Returns all online spectators. Immutable, safe to iterate while members change. */
+    public List<Player> getSpectators() { return spectatorView; }
 
-    /** Returns all online participants (players + spectators). */
-    public List<Player> getAllParticipants() {
-        List<Player> all = new ArrayList<>(getPlayers());
-        all.addAll(getSpectators());
-        return all;
-    }
+    /** Returns all online participants (players + spectators). Immutable, safe to iterate while members change. */
+    public List<Player> getAllParticipants() { return participantView; }
 
-    public List<UUID> getPlayerUUIDs() { return Collections.unmodifiableList(players); }
-    public List<UUID> getSpectatorUUIDs() { return Collections.unmodifiableList(spectators); }
+    public Set<UUID> getPlayerUUIDs() { return Collections.unmodifiableSet(players); }
+    public Set<UUID> getSpectatorUUIDs() { return Collections.unmodifiableSet(spectators); }
 
     public int getPlayerCount() { return players.size(); }
     public int getSpectatorCount() { return spectators.size(); }
@@ -129,7 +180,10 @@ public class Arena {
     // ---- Cleanup ----
 
     public void clearAll() {
+        for (UUID uuid : players) playerIndex.remove(uuid, this);
+        for (UUID uuid : spectators) playerIndex.remove(uuid, this);
         players.clear();
         spectators.clear();
+        refreshViews();
     }
 }
@@ -30,10 +30,16 @@ public class ArenaJoinHandler {
             MessageUtil.sendRaw(player, plugin.getConfigManager().getMessage("errors.arena-disabled"));
             return;
         }
-        if (plugin.getArenaManager().getArenaForPlayer(player).isPresent()) {
+        if (plugin.getArenaManager().getPlayerArena(player) != null) {
             MessageUtil.sendRaw(player, plugin.getConfigManager().getMessage("errors.already-in-arena"));
             return;
         }
+        if (arena.getState() == ArenaState.RESETTING && arena.getConfig().isFullySetup()) {
+            // Wait for the reset instead of bouncing; queued players also move this reset to the front
+            plugin.getArenaManager().queueForReset(player, arena);
+            MessageUtil.sendRaw(player, plugin.getConfigManager().getMessage("arena.queued", "arena", arena.getDisplayName()));
+            return;
+        }
         if (!arena.isJoinable()) {
             MessageUtil.sendRaw(player, plugin.getConfigManager().getMessage("errors.arena-full"));
             return;
@@ -69,8 +75,8 @@ public class ArenaJoinHandler {
             plugin.getGameManager().startCountdown(arena);
         }
 
-        // Update scoreboard
-        plugin.getScoreboardManager().updateScoreboard(player, arena);
+        // Draw the scoreboard on the next flush
+        plugin.getScoreboardManager().markDirty(player);
 
         // Start narrator lobby messages
         if (arena.getPlayerCount() == 1) {
@@ -83,7 +89,11 @@ public class ArenaJoinHandler {
         plugin.getArenaManager().getArenaForPlayer(player).ifPresentOrElse(arena -> {
             doLeave(player, arena);
         }, () -> {
-            MessageUtil.sendRaw(player, plugin.getConfigManager().getMessage("errors.not-in-arena"));
+            if (plugin.getArenaManager().unqueue(player.getUniqueId())) {
+                MessageUtil.sendRaw(player, plugin.getConfigManager().getMessage("arena.queue-left"));
+            } else {
+                MessageUtil.sendRaw(player, plugin.getConfigManager().getMessage("errors.not-in-arena"));
+            }
         });
     }
 
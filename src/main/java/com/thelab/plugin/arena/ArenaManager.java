@@ -2,32 +2,51 @@ package com.thelab.plugin.arena;
 
 import com.thelab.plugin.config.ConfigManager;
 import com.thelab.plugin.utils.MessageUtil;
+import org.bukkit.block.Block;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /** Manages all arena instances. */
 public class ArenaManager {
 
     private final ConfigManager configManager;
     private final Map<String, Arena> arenas = new LinkedHashMap<>();
+    /** Player/spectator UUID to the arena they are in, maintained by {@link Arena}. */
+    private final Map<UUID, Arena> playerIndex = new ConcurrentHashMap<>();
+    /** Arena ID to the players waiting to join once its reset finishes, in arrival order. Main thread only. */
+    private final Map<String, Set<UUID>> resetQueues = new HashMap<>();
+    private Consumer<Arena> changeListener = arena -> {};
 
     public ArenaManager(ConfigManager configManager) {
         this.configManager = configManager;
     }
 
+    /** Sets the callback run when an arena's state or membership changes. Main thread only. */
+    public void setChangeListener(Consumer<Arena> listener) {
+        this.changeListener = listener;
+    }
+
+    private void arenaChanged(Arena arena) {
+        changeListener.accept(arena);
+    }
+
     /** Loads all arenas from arenas.yml. */
     public void loadArenas() {
         arenas.clear();
+        playerIndex.clear();
+        resetQueues.clear();
         FileConfiguration cfg = configManager.getArenas();
         ConfigurationSection arenasSection = cfg.getConfigurationSection("arenas");
         if (arenasSection == null) return;
         for (String id : arenasSection.getKeys(false)) {
             ConfigurationSection sec = arenasSection.getConfigurationSection(id);
             ArenaConfig config = ArenaConfig.deserialize(id, sec);
-            arenas.put(id.toLowerCase(), new Arena(config));
+            arenas.put(id.toLowerCase(), new Arena(config, playerIndex, this::arenaChanged));
         }
     }
 
@@ -48,7 +67,7 @@ public class ArenaManager {
         config.setDisplayName(id);
         config.setMinPlayers(minPlayers);
         config.setMaxPlayers(maxPlayers);
-        Arena arena = new Arena(config);
+        Arena arena = new Arena(config, playerIndex, this::arenaChanged);
         arenas.put(key, arena);
         saveArenas();
         return arena;
@@ -62,6 +81,8 @@ public class ArenaManager {
             for (Player p : removed.getPlayers()) {
                 removed.removePlayer(p);
             }
+            removed.clearAll();
+            resetQueues.remove(removed.getId());
             saveArenas();
             return true;
         }
@@ -76,14 +97,49 @@ public class ArenaManager {
     /** Returns all arenas. */
     public Collection<Arena> getArenas() { return Collections.unmodifiableCollection(arenas.values()); }
 
-    /** Finds which arena a player is currently in. */
-    public Optional<Arena> getArenaForPlayer(UUID uuid) {
-        for (Arena arena : arenas.values()) {
-            if (arena.getPlayerUUIDs().contains(uuid) || arena.getSpectatorUUIDs().contains(uuid)) {
-                return Optional.of(arena);
+    /** Returns the arena the player is in (as player or spectator), or null. Constant time and safe from any thread. */
+    public Arena getPlayerArena(UUID uuid) {
+        return playerIndex.get(uuid);
+    }
+
+    /** Returns the arena the player is in (as player or spectator), or null. Constant time and safe from any thread. */
+    public Arena getPlayerArena(Player player) {
+        return playerIndex.get(player.getUniqueId());
+    }
+
+    /** Queues a player to join the arena when its reset finishes. Returns false if they were already queued. */
+    public boolean queueForReset(Player player, Arena arena) {
+        unqueue(player.getUniqueId());
+        return resetQueues.computeIfAbsent(arena.getId(), id -> new LinkedHashSet<>()).add(player.getUniqueId());
+    }
+
+    /** Removes a player from any reset queue. Returns true if they were queued. */
+    public boolean unqueue(UUID uuid) {
+        for (Iterator<Set<UUID>> it = resetQueues.values().iterator(); it.hasNext(); ) {
+            Set<UUID> queue = it.next();
+            if (queue.remove(uuid)) {
+                if (queue.isEmpty()) it.remove();
+                return true;
             }
         }
-        return Optional.empty();
+        return false;
+    }
+
+    /** Returns how many players are waiting for the arena's reset to finish. */
+    public int getQueuedCount(Arena arena) {
+        Set<UUID> queue = resetQueues.get(arena.getId());
+        return queue == null ? 0 : queue.size();
+    }
+
+    /** Removes and returns the players waiting for the arena's reset, in arrival order. */
+    public List<UUID> drainResetQueue(Arena arena) {
+        Set<UUID> queue = resetQueues.remove(arena.getId());
+        return queue == null ? List.of() : new ArrayList<>(queue);
+    }
+
+    /** Finds which arena a player is currently in. */
+    public Optional<Arena> getArenaForPlayer(UUID uuid) {
+        return Optional.ofNullable(playerIndex.get(uuid));
     }
 
     /** Finds which arena a player is currently in. */
@@ -120,5 +176,12 @@ public class ArenaManager {
         return true;
     }
 
+    /** Journals a pending block change for every arena whose saved region contains the block. */
+    public void recordBlockChange(Block block) {
+        for (Arena arena : arenas.values()) {
+            arena.getRegionManager().recordChange(block);
+        }
+    }
+
     public boolean arenaExists(String id) { return arenas.containsKey(id.toLowerCase()); }
 }
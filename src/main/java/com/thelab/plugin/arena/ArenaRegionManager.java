@@ -2,114 +2,264 @@ package com.thelab.plugin.arena;
 
 import com.thelab.plugin.TheLabPlugin;
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.util.BlockVector;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
-/** Saves and restores the block state of an arena region. */
+/**
+ * Saves and restores the block state of an arena region. Restores are run by the global {@link RestoreScheduler}.
+ * The pristine state comes from the arena's on-disk template when one exists, otherwise from a live capture.
+ * After a save, every change inside the region is journaled so a restore only rewrites modified blocks.
+ */
 public class ArenaRegionManager {
 
-    private static final int BLOCKS_PER_TICK = 5000;
-
+    private final Arena arena;
     private final ArenaConfig config;
-    private final Map<BlockVector, BlockData> savedBlocks = new HashMap<>();
+    private volatile RegionSnapshot snapshot;
+    private volatile RegionSnapshot template;
+    private RegionBounds journalBounds;
+    private RegionJournal journal;
+    private boolean needsRepair;
 
-    public ArenaRegionManager(ArenaConfig config) {
-        this.config = config;
+    public ArenaRegionManager(Arena arena) {
+        this.arena = arena;
+        this.config = arena.getConfig();
     }
 
-    /** Saves all blocks in the arena region to memory. Also removes non-player entities. */
-    public void saveRegion() {
-        Location min = config.getArenaMin();
-        Location max = config.getArenaMax();
-        if (min == null || max == null || min.getWorld() == null) return;
+    /**
+     * Prepares the pristine region state for a game and starts journaling changes. Must be called on the main thread.
+     * The arena's template is used when present (loaded and verified on first use); if it is missing or unusable
+     * the live world is captured instead. Returns a future completing with the snapshot, or with null if the
+     * region is not configured.
+     */
+    public CompletableFuture<RegionSnapshot> prepareRegion(Executor executor) {
+        RegionBounds bounds = RegionBounds.of(config.getArenaMin(), config.getArenaMax());
+        if (bounds == null) return CompletableFuture.completedFuture(null);
 
-        savedBlocks.clear();
+        // Journal from this point so no change is missed while the snapshot is being built
+        snapshot = null;
+        journalBounds = bounds;
+        journal = new RegionJournal(bounds.getVolume());
 
-        int minX = Math.min(min.getBlockX(), max.getBlockX());
-        int minY = Math.min(min.getBlockY(), max.getBlockY());
-        int minZ = Math.min(min.getBlockZ(), max.getBlockZ());
-        int maxX = Math.max(min.getBlockX(), max.getBlockX());
-        int maxY = Math.max(min.getBlockY(), max.getBlockY());
-        int maxZ = Math.max(min.getBlockZ(), max.getBlockZ());
+        Path file = getTemplateFile();
+        if (!Files.exists(file)) return captureLive(bounds, executor);
 
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    Block block = min.getWorld().getBlockAt(x, y, z);
-                    savedBlocks.put(new BlockVector(x, y, z), block.getBlockData().clone());
-                }
+        // A marker left over from an earlier game means that game never finished its reset
+        needsRepair = !createDirtyMarker();
+
+        RegionSnapshot cached = template;
+        CompletableFuture<RegionSnapshot> loaded = cached != null && cached.getBounds().equals(bounds)
+                ? CompletableFuture.completedFuture(cached)
+                : loadTemplate(file, bounds, executor);
+        Executor mainThread = Bukkit.getScheduler().getMainThreadExecutor(TheLabPlugin.getInstance());
+        return loaded.thenApply(this::useSnapshot).exceptionallyComposeAsync(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            TheLabPlugin.getInstance().getLogger().warning("Region template of arena " + config.getId()
+                    + " is unusable (" + cause.getMessage() + "), capturing the live world instead.");
+            template = null;
+            needsRepair = false;
+            return captureLive(bounds, executor);
+        }, mainThread);
+    }
+
+    /**
+     * Captures the live region and writes it as the arena's template, replacing any previous one.
+     * Must be called on the main thread; the file is written on the given executor.
+     */
+    public CompletableFuture<RegionSnapshot> saveTemplate(Executor executor) {
+        RegionBounds bounds = RegionBounds.of(config.getArenaMin(), config.getArenaMax());
+        if (bounds == null) return CompletableFuture.failedFuture(new IllegalStateException("Arena region is not set"));
+
+        Path file = getTemplateFile();
+        return RegionCapture.capture(bounds, executor).thenApplyAsync(captured -> {
+            try {
+                RegionTemplate.write(file, captured);
+                Files.deleteIfExists(getDirtyMarker());
+            } catch (IOException e) {
+                throw new CompletionException(e);
             }
+            template = captured;
+            return captured;
+        }, executor);
+    }
+
+    private CompletableFuture<RegionSnapshot> loadTemplate(Path file, RegionBounds bounds, Executor executor) {
+        Executor mainThread = Bukkit.getScheduler().getMainThreadExecutor(TheLabPlugin.getInstance());
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return RegionTemplate.read(file);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor).thenApplyAsync(read -> {
+            RegionSnapshot loaded = read.toSnapshot();
+            if (!loaded.getBounds().equals(bounds)) {
+                throw new IllegalStateException("template bounds differ from the arena region");
+            }
+            template = loaded;
+            return loaded;
+        }, mainThread);
+    }
+
+    private CompletableFuture<RegionSnapshot> captureLive(RegionBounds bounds, Executor executor) {
+        return RegionCapture.capture(bounds, executor).thenApply(this::useSnapshot);
+    }
+
+    private RegionSnapshot useSnapshot(RegionSnapshot prepared) {
+        snapshot = prepared;
+        return prepared;
+    }
+
+    // ---- Template files ----
+
+    public Path getTemplateFile() {
+        return TheLabPlugin.getInstance().getDataFolder().toPath().resolve("templates").resolve(config.getId() + ".tlr");
+    }
+
+    private Path getDirtyMarker() {
+        return getTemplateFile().resolveSibling(config.getId() + ".dirty");
+    }
+
+    /** Creates the in-game marker. Returns false if it already existed. */
+    private boolean createDirtyMarker() {
+        try {
+            Files.createDirectories(getDirtyMarker().getParent());
+            Files.createFile(getDirtyMarker());
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } catch (IOException e) {
+            TheLabPlugin.getInstance().getLogger().warning("Could not write reset marker for arena " + config.getId() + ": " + e.getMessage());
+            return true;
+        }
+    }
+
+    private void deleteDirtyMarker() {
+        try {
+            Files.deleteIfExists(getDirtyMarker());
+        } catch (IOException e) {
+            TheLabPlugin.getInstance().getLogger().warning("Could not delete reset marker for arena " + config.getId() + ": " + e.getMessage());
         }
     }
 
-    /** Restores the arena region from the saved state, batched to avoid lag. */
+    /** Returns true if an earlier game in this arena never finished its reset and the region must be repaired. */
+    public boolean needsRepair() { return needsRepair && snapshot != null; }
+
+    // ---- Change journal ----
+
+    /** Records that a block is about to change. Ignored outside the region or when no game is being journaled. */
+    public void recordChange(Block block) {
+        recordChange(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /** Records that a block is about to change. Ignored outside the region or when no game is being journaled. */
+    public void recordChange(World world, int x, int y, int z) {
+        RegionJournal current = journal;
+        if (current == null) return;
+        RegionBounds bounds = journalBounds;
+        if (world != bounds.getWorld() || !bounds.contains(x, y, z)) return;
+        current.mark(bounds.index(x, y, z));
+    }
+
+    /** Returns true while changes inside the region are being journaled. */
+    public boolean isJournaling() { return journal != null; }
+
+    /** Returns the number of distinct blocks changed since the last save. */
+    public int getJournaledChanges() {
+        RegionJournal current = journal;
+        return current == null ? 0 : current.size();
+    }
+
+    // ---- Restore ----
+
+    /** Restores every journaled block from the saved state through the restore scheduler. */
     public void restoreRegion(Runnable onComplete) {
-        Location min = config.getArenaMin();
-        Location max = config.getArenaMax();
-        if (min == null || max == null || min.getWorld() == null || savedBlocks.isEmpty()) {
+        RegionSnapshot saved = snapshot;
+        RegionJournal changes = journal;
+        journal = null;
+        if (saved == null || changes == null || saved.getBounds().getWorld() == null) {
             if (onComplete != null) onComplete.run();
             return;
         }
 
-        // Remove non-player entities in region first
-        removeEntitiesInRegion(min, max);
+        replay(saved, changes, () -> {
+            deleteDirtyMarker();
+            if (onComplete != null) onComplete.run();
+        });
+    }
 
-        List<Map.Entry<BlockVector, BlockData>> entries = new ArrayList<>(savedBlocks.entrySet());
+    /**
+     * Undoes {@link #prepareRegion} for a game that will not start. Journaling stops and the snapshot
+     * is dropped. Blocks changed since the save are put back first; otherwise the in-game marker is
+     * deleted at once, unless it marks an earlier game whose region still needs repair.
+     */
+    public void abandonPreparation() {
+        RegionJournal changes = journal;
+        if (changes != null && changes.size() > 0 && snapshot != null) {
+            restoreRegion(null);
+        } else {
+            journal = null;
+            if (!needsRepair) deleteDirtyMarker();
+        }
+        snapshot = null;
+    }
 
-        new BukkitRunnable() {
-            int index = 0;
+    /**
+     * Rewrites the whole region from the template, for arenas left dirty by a game that never reset.
+     * Journaling continues for the game about to start.
+     */
+    public void repairRegion(Runnable onComplete) {
+        RegionSnapshot saved = snapshot;
+        needsRepair = false;
+        if (saved == null) {
+            if (onComplete != null) onComplete.run();
+            return;
+        }
+        removeEntities();
+        replay(saved, RegionJournal.full(saved.getBounds().getVolume()), onComplete);
+    }
 
-            @Override
-            public void run() {
-                int end = Math.min(index + BLOCKS_PER_TICK, entries.size());
-                for (int i = index; i < end; i++) {
-                    Map.Entry<BlockVector, BlockData> entry = entries.get(i);
-                    BlockVector bv = entry.getKey();
-                    Block block = min.getWorld().getBlockAt(bv.getBlockX(), bv.getBlockY(), bv.getBlockZ());
-                    block.setBlockData(entry.getValue(), false);
-                }
-                index = end;
-                if (index >= entries.size()) {
-                    cancel();
-                    if (onComplete != null) {
-                        Bukkit.getScheduler().runTask(TheLabPlugin.getInstance(), onComplete);
+    private void replay(RegionSnapshot saved, RegionJournal changes, Runnable onComplete) {
+        TheLabPlugin.getInstance().getRestoreScheduler().submit(arena, saved, changes, onComplete);
+    }
+
+    /**
+     * Removes all non-player entities inside the arena region in a single pass.
+     * Only loaded chunks overlapping the region are visited. Returns the number of entities removed.
+     */
+    public int removeEntities() {
+        RegionBounds bounds = RegionBounds.of(config.getArenaMin(), config.getArenaMax());
+        if (bounds == null) return 0;
+        World world = bounds.getWorld();
+        int removed = 0;
+        for (int cx = bounds.getMinX() >> 4; cx <= bounds.getMaxX() >> 4; cx++) {
+            for (int cz = bounds.getMinZ() >> 4; cz <= bounds.getMaxZ() >> 4; cz++) {
+                if (!world.isChunkLoaded(cx, cz)) continue;
+                for (Entity entity : world.getChunkAt(cx, cz).getEntities()) {
+                    if (entity instanceof Player) continue;
+                    Location loc = entity.getLocation();
+                    if (bounds.contains(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ())) {
+                        entity.remove();
+                        removed++;
                     }
                 }
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 0L, 1L);
-    }
-
-    /** Removes all non-player entities within the given region. */
-    private void removeEntitiesInRegion(Location min, Location max) {
-        if (min.getWorld() == null) return;
-        int minX = Math.min(min.getBlockX(), max.getBlockX());
-        int minZ = Math.min(min.getBlockZ(), max.getBlockZ());
-        int maxX = Math.max(min.getBlockX(), max.getBlockX());
-        int maxZ = Math.max(min.getBlockZ(), max.getBlockZ());
-        int minY = Math.min(min.getBlockY(), max.getBlockY());
-        int maxY = Math.max(min.getBlockY(), max.getBlockY());
-
-        for (Entity entity : min.getWorld().getEntities()) {
-            if (entity instanceof Player) continue;
-            Location loc = entity.getLocation();
-            if (loc.getBlockX() >= minX && loc.getBlockX() <= maxX
-                    && loc.getBlockY() >= minY && loc.getBlockY() <= maxY
-                    && loc.getBlockZ() >= minZ && loc.getBlockZ() <= maxZ) {
-                entity.remove();
-            }
         }
+        return removed;
     }
 
-    public boolean hasSavedState() { return !savedBlocks.isEmpty(); }
+    public boolean hasSavedState() { return snapshot != null; }
+
+    /** Returns the last saved snapshot, or null if none has been taken. */
+    public RegionSnapshot getSnapshot() { return snapshot; }
 }
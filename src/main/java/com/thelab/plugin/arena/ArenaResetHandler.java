@@ -1,45 +1,26 @@
 package com.thelab.plugin.arena;
 
-import org.bukkit.Location;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.Item;
-import org.bukkit.entity.Player;
+import com.thelab.plugin.TheLabPlugin;
 
 /** Handles resetting an arena after a game. */
 public class ArenaResetHandler {
 
     /** Resets the arena: removes items/mobs, restores region, then calls the callback. */
     public void reset(Arena arena, Runnable callback) {
-        // Remove dropped items and non-player entities
-        Location min = arena.getConfig().getArenaMin();
-        Location max = arena.getConfig().getArenaMax();
+        long start = System.nanoTime();
 
-        if (min != null && max != null && min.getWorld() != null) {
-            for (Entity entity : min.getWorld().getEntities()) {
-                if (entity instanceof Player) continue;
-                Location loc = entity.getLocation();
-                if (isInRegion(loc, min, max)) {
-                    entity.remove();
-                }
-            }
-        }
+        // Remove dropped items and non-player entities
+        int entities = arena.getRegionManager().removeEntities();
+        long entityMicros = (System.nanoTime() - start) / 1_000;
 
         // Restore region blocks
+        int blocks = arena.getRegionManager().getJournaledChanges();
         arena.getRegionManager().restoreRegion(() -> {
+            TheLabPlugin.getInstance().getLogger().info(String.format(
+                    "Reset arena %s: removed %d entities in %.2f ms, restored %d blocks, %d ms total.",
+                    arena.getId(), entities, entityMicros / 1000.0, blocks, (System.nanoTime() - start) / 1_000_000));
             arena.setState(ArenaState.WAITING);
             if (callback != null) callback.run();
         });
     }
-
-    private boolean isInRegion(Location loc, Location min, Location max) {
-        int minX = Math.min(min.getBlockX(), max.getBlockX());
-        int minY = Math.min(min.getBlockY(), max.getBlockY());
-        int minZ = Math.min(min.getBlockZ(), max.getBlockZ());
-        int maxX = Math.max(min.getBlockX(), max.getBlockX());
-        int maxY = Math.max(min.getBlockY(), max.getBlockY());
-        int maxZ = Math.max(min.getBlockZ(), max.getBlockZ());
-        return loc.getBlockX() >= minX && loc.getBlockX() <= maxX
-                && loc.getBlockY() >= minY && loc.getBlockY() <= maxY
-                && loc.getBlockZ() >= minZ && loc.getBlockZ() <= maxZ;
-    }
 }
@@ -1,7 +1,9 @@
 package com.thelab.plugin.arena;
 
+import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.experiment.ExperimentType;
 import com.thelab.plugin.utils.MessageUtil;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import java.util.List;
@@ -10,6 +12,7 @@ import org.bukkit.event.block.Action;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.logging.Level;
 
 /** Interactive step-by-step arena setup wizard. */
 public class ArenaSetupWizard {
@@ -86,6 +89,7 @@ public class ArenaSetupWizard {
                         session.arena.getConfig().setArenaMin(session.corner1);
                         session.arena.getConfig().setArenaMax(session.corner2);
                         MessageUtil.sendRaw(player, "&aArena region set!");
+                        saveTemplate(player, session.arena);
                         session.step = 4;
                         session.experimentIndex = 0;
                         List<ExperimentType> exps = session.arena.getConfig().getEnabledExperiments();
@@ -150,6 +154,11 @@ public class ArenaSetupWizard {
                             "&e[Setup Wizard] Step " + session.step + ": Set spawn points for &a"
                                     + session.currentExperiment.getDisplayName()
                                     + "&e. Type &aaddspawn&e at each spawn, then &adone&e when finished.");
+                    if (session.currentExperiment == ExperimentType.PIG_RACING) {
+                        MessageUtil.sendRaw(player, "&7The first spawn is the start/finish line: face the direction racers ride.");
+                    } else if (session.currentExperiment == ExperimentType.ROCKET_RACE) {
+                        MessageUtil.sendRaw(player, "&7Add checkpoints in flying order, starting where racers launch.");
+                    }
                 }
             }
         }
@@ -161,6 +170,28 @@ public class ArenaSetupWizard {
         MessageUtil.sendRaw(player, "&aSetup complete! Use &e/thelab enable " + session.arena.getId() + "&a to enable the arena.");
     }
 
+    /** Writes the arena's region template from the current world, reporting the result to the admin. */
+    private void saveTemplate(Player player, Arena arena) {
+        if (arena.getState() != ArenaState.DISABLED && arena.getState() != ArenaState.WAITING) {
+            MessageUtil.sendRaw(player, "&cArena is in use, region template not saved. Re-run the setup when it is idle.");
+            return;
+        }
+        TheLabPlugin plugin = TheLabPlugin.getInstance();
+        MessageUtil.sendRaw(player, "&7Saving region template...");
+        arena.getRegionManager().saveTemplate(plugin.getWorkerPool()).whenComplete((snapshot, error) -> {
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (error != null) {
+                    plugin.getLogger().log(Level.WARNING, "Failed to save region template of arena " + arena.getId(), error);
+                    if (player.isOnline()) MessageUtil.sendRaw(player, "&cFailed to save region template, see console.");
+                } else if (player.isOnline()) {
+                    MessageUtil.sendRaw(player, "&aRegion template saved (" + snapshot.getBounds().getVolume()
+                            + " blocks, " + snapshot.getPaletteSize() + " block states).");
+                }
+            });
+        });
+    }
+
     private String formatLoc(Location loc) {
         return loc.getBlockX() + ", " + loc.getBlockY() + ", " + loc.getBlockZ();
     }
@@ -0,0 +1,82 @@
+package com.thelab.plugin.arena;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/** Immutable block bounds of an arena region, with a dense x/y/z index over its volume. */
+public final class RegionBounds {
+
+    private final World world;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final int volume;
+
+    public RegionBounds(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.world = world;
+        this.minX = Math.min(minX, maxX);
+        this.minY = Math.min(minY, maxY);
+        this.minZ = Math.min(minZ, maxZ);
+        this.maxX = Math.max(minX, maxX);
+        this.maxY = Math.max(minY, maxY);
+        this.maxZ = Math.max(minZ, maxZ);
+        this.sizeX = this.maxX - this.minX + 1;
+        this.sizeY = this.maxY - this.minY + 1;
+        this.sizeZ = this.maxZ - this.minZ + 1;
+        this.volume = Math.multiplyExact(Math.multiplyExact(sizeX, sizeY), sizeZ);
+    }
+
+    /** Builds bounds from two corner locations. Returns null if either corner or the world is missing. */
+    public static RegionBounds of(Location a, Location b) {
+        if (a == null || b == null || a.getWorld() == null) return null;
+        return new RegionBounds(a.getWorld(), a.getBlockX(), a.getBlockY(), a.getBlockZ(),
+                b.getBlockX(), b.getBlockY(), b.getBlockZ());
+    }
+
+    // ---- Indexing ----
+
+    /** Returns the dense index of a block (x outermost, z innermost). The block must be inside the bounds. */
+    public int index(int x, int y, int z) {
+        return ((x - minX) * sizeY + (y - minY)) * sizeZ + (z - minZ);
+    }
+
+    public int xOf(int index) { return minX + index / (sizeY * sizeZ); }
+    public int yOf(int index) { return minY + (index / sizeZ) % sizeY; }
+    public int zOf(int index) { return minZ + index % sizeZ; }
+
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    public boolean contains(Location loc) {
+        return loc.getWorld() == world && contains(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RegionBounds other)) return false;
+        return world == other.world
+                && minX == other.minX && minY == other.minY && minZ == other.minZ
+                && maxX == other.maxX && maxY == other.maxY && maxZ == other.maxZ;
+    }
+
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(world, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    // ---- Getters ----
+
+    public World getWorld() { return world; }
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMinZ() { return minZ; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getMaxZ() { return maxZ; }
+    public int getSizeX() { return sizeX; }
+    public int getSizeY() { return sizeY; }
+    public int getSizeZ() { return sizeZ; }
+    public int getVolume() { return volume; }
+}
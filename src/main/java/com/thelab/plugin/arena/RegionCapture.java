@@ -0,0 +1,110 @@
+package com.thelab.plugin.arena;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Captures a region into a {@link RegionSnapshot} without blocking the main thread.
+ * Chunk snapshots are taken on the main thread; each chunk is then decoded in parallel on a worker pool
+ * into its own local palette, and the parts are merged into one snapshot.
+ */
+public final class RegionCapture {
+
+    private RegionCapture() {}
+
+    /** Starts a capture. Must be called on the main thread; the future completes on the executor. */
+    public static CompletableFuture<RegionSnapshot> capture(RegionBounds bounds, Executor executor) {
+        World world = bounds.getWorld();
+        int minChunkX = bounds.getMinX() >> 4, maxChunkX = bounds.getMaxX() >> 4;
+        int minChunkZ = bounds.getMinZ() >> 4, maxChunkZ = bounds.getMaxZ() >> 4;
+
+        List<CompletableFuture<ChunkPart>> parts = new ArrayList<>();
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                ChunkSnapshot chunk = world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+                parts.add(CompletableFuture.supplyAsync(() -> decode(bounds, chunk), executor));
+            }
+        }
+
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0]))
+                .thenApplyAsync(v -> merge(bounds, parts), executor);
+    }
+
+    /** Decodes the part of the region inside one chunk into a local palette. */
+    private static ChunkPart decode(RegionBounds bounds, ChunkSnapshot chunk) {
+        int baseX = chunk.getX() << 4, baseZ = chunk.getZ() << 4;
+        ChunkPart part = new ChunkPart(
+                Math.max(bounds.getMinX(), baseX), Math.min(bounds.getMaxX(), baseX + 15),
+                Math.max(bounds.getMinZ(), baseZ), Math.min(bounds.getMaxZ(), baseZ + 15),
+                bounds.getSizeY());
+
+        Map<BlockData, Integer> lookup = new HashMap<>();
+        BlockData last = null;
+        int lastId = -1;
+        int i = 0;
+        for (int x = part.minX; x <= part.maxX; x++) {
+            for (int y = bounds.getMinY(); y <= bounds.getMaxY(); y++) {
+                for (int z = part.minZ; z <= part.maxZ; z++) {
+                    BlockData data = chunk.getBlockData(x & 15, y, z & 15);
+                    if (lastId < 0 || !data.equals(last)) {
+                        Integer id = lookup.get(data);
+                        if (id == null) {
+                            id = part.palette.size();
+                            part.palette.add(data);
+                            lookup.put(data, id);
+                        }
+                        last = data;
+                        lastId = id;
+                    }
+                    part.ids[i++] = lastId;
+                }
+            }
+        }
+        return part;
+    }
+
+    /** Remaps every chunk's local palette onto a shared one and writes the ids in dense region order. */
+    private static RegionSnapshot merge(RegionBounds bounds, List<CompletableFuture<ChunkPart>> parts) {
+        RegionSnapshot.Builder builder = RegionSnapshot.builder(bounds);
+        for (CompletableFuture<ChunkPart> future : parts) {
+            ChunkPart part = future.join();
+            int[] remap = new int[part.palette.size()];
+            for (int id = 0; id < remap.length; id++) {
+                remap[id] = builder.paletteId(part.palette.get(id));
+            }
+            int i = 0;
+            for (int x = part.minX; x <= part.maxX; x++) {
+                for (int y = bounds.getMinY(); y <= bounds.getMaxY(); y++) {
+                    int index = bounds.index(x, y, part.minZ);
+                    for (int z = part.minZ; z <= part.maxZ; z++) {
+                        builder.setPaletteId(index++, remap[part.ids[i++]]);
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /** Blocks of one chunk column inside the region, as ids into a chunk-local palette. */
+    private static final class ChunkPart {
+        final int minX, maxX, minZ, maxZ;
+        final int[] ids;
+        final List<BlockData> palette = new ArrayList<>();
+
+        ChunkPart(int minX, int maxX, int minZ, int maxZ, int sizeY) {
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minZ = minZ;
+            this.maxZ = maxZ;
+            this.ids = new int[(maxX - minX + 1) * sizeY * (maxZ - minZ + 1)];
+        }
+    }
+}
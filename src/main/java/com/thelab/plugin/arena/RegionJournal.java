@@ -0,0 +1,47 @@
+package com.thelab.plugin.arena;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Records which blocks of a region have changed since its snapshot was taken.
+ * Each dense index is recorded once, in first-change order; the original state is read from the snapshot.
+ */
+public class RegionJournal {
+
+    private final BitSet marked;
+    private int[] changes = new int[256];
+    private int size;
+
+    public RegionJournal(int volume) {
+        this.marked = new BitSet(volume);
+    }
+
+    /** Returns a journal with every index of the volume marked, for full rewrites. */
+    public static RegionJournal full(int volume) {
+        RegionJournal journal = new RegionJournal(volume);
+        journal.marked.set(0, volume);
+        journal.changes = new int[Math.max(1, volume)];
+        for (int i = 0; i < volume; i++) journal.changes[i] = i;
+        journal.size = volume;
+        return journal;
+    }
+
+    /** Marks a dense index as changed. Returns true if this is its first change. */
+    public boolean mark(int index) {
+        if (marked.get(index)) return false;
+        marked.set(index);
+        if (size == changes.length) changes = Arrays.copyOf(changes, size * 2);
+        changes[size++] = index;
+        return true;
+    }
+
+    public boolean isMarked(int index) { return marked.get(index); }
+
+    /** Returns the i-th changed dense index, in first-change order. */
+    public int get(int i) { return changes[i]; }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+}
@@ -0,0 +1,124 @@
+package com.thelab.plugin.arena;
+
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Palette-compressed copy of every block in a region.
+ * Each distinct {@link BlockData} is stored once; blocks are palette indices packed
+ * into a long array in {@link RegionBounds#index} order, using just enough bits for the palette.
+ */
+public final class RegionSnapshot {
+
+    private final RegionBounds bounds;
+    private final BlockData[] palette;
+    private final int bitsPerBlock;
+    private final int valuesPerLong;
+    private final long mask;
+    private final long[] data;
+
+    RegionSnapshot(RegionBounds bounds, BlockData[] palette, int bitsPerBlock, long[] data) {
+        this.bounds = bounds;
+        this.palette = palette;
+        this.bitsPerBlock = bitsPerBlock;
+        this.valuesPerLong = 64 / bitsPerBlock;
+        this.mask = (1L << bitsPerBlock) - 1;
+        this.data = data;
+    }
+
+    /** Returns the palette index stored for the given dense block index. */
+    public int getPaletteIndex(int index) {
+        long word = data[index / valuesPerLong];
+        return (int) ((word >>> ((index % valuesPerLong) * bitsPerBlock)) & mask);
+    }
+
+    /** Returns the saved block data for the given dense block index. Shared instance, do not mutate. */
+    public BlockData get(int index) {
+        return palette[getPaletteIndex(index)];
+    }
+
+    public BlockData get(int x, int y, int z) {
+        return get(bounds.index(x, y, z));
+    }
+
+    public RegionBounds getBounds() { return bounds; }
+    public int getPaletteSize() { return palette.length; }
+    public int getBitsPerBlock() { return bitsPerBlock; }
+
+    BlockData[] palette() { return palette; }
+    long[] data() { return data; }
+
+    /** Approximate heap used by the packed index array, in bytes. */
+    public long getDataBytes() { return (long) data.length * Long.BYTES; }
+
+    /** Number of bits needed to address a palette of the given size (at least 1). */
+    static int bitsFor(int paletteSize) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    /** Packs palette indices into longs without letting a value span two words. */
+    static long[] pack(int[] indices, int bitsPerBlock) {
+        int perLong = 64 / bitsPerBlock;
+        long[] packed = new long[(indices.length + perLong - 1) / perLong];
+        for (int i = 0; i < indices.length; i++) {
+            packed[i / perLong] |= (long) indices[i] << ((i % perLong) * bitsPerBlock);
+        }
+        return packed;
+    }
+
+    public static Builder builder(RegionBounds bounds) { return new Builder(bounds); }
+
+    /** Collects blocks by dense index, deduplicating them into a palette. */
+    public static final class Builder {
+
+        private final RegionBounds bounds;
+        private final int[] indices;
+        private final List<BlockData> palette = new ArrayList<>();
+        private final Map<BlockData, Integer> lookup = new HashMap<>();
+        private BlockData lastData;
+        private int lastIndex = -1;
+
+        private Builder(RegionBounds bounds) {
+            this.bounds = bounds;
+            this.indices = new int[bounds.getVolume()];
+        }
+
+        /** Records the block data at a dense index. Runs of identical blocks skip the palette lookup. */
+        public Builder set(int index, BlockData blockData) {
+            if (lastIndex < 0 || !blockData.equals(lastData)) {
+                lastIndex = paletteId(blockData);
+                lastData = blockData;
+            }
+            indices[index] = lastIndex;
+            return this;
+        }
+
+        /** Records a palette id previously returned by {@link #paletteId} at a dense index. */
+        public Builder setPaletteId(int index, int paletteId) {
+            indices[index] = paletteId;
+            return this;
+        }
+
+        /** Returns the palette id for the given block data, adding it to the palette if it is new. */
+        public int paletteId(BlockData blockData) {
+            Integer id = lookup.get(blockData);
+            if (id == null) {
+                BlockData copy = blockData.clone();
+                id = palette.size();
+                palette.add(copy);
+                lookup.put(copy, id);
+            }
+            return id;
+        }
+
+        public RegionSnapshot build() {
+            if (palette.isEmpty()) throw new IllegalStateException("Snapshot has no blocks");
+            int bits = bitsFor(palette.size());
+            return new RegionSnapshot(bounds, palette.toArray(new BlockData[0]), bits, pack(indices, bits));
+        }
+    }
+}
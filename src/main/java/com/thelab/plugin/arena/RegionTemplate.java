@@ -0,0 +1,190 @@
+package com.thelab.plugin.arena;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * On-disk pristine copy of an arena region.
+ * <p>
+ * Layout: a fixed header (magic, format version, raw length, compressed length, CRC32 of the compressed
+ * payload) followed by a Deflate-compressed payload holding the world name, bounds, palette as block data
+ * strings, bits per block and the packed index longs. Files are read through a memory-mapped channel
+ * and verified before use.
+ */
+public final class RegionTemplate {
+
+    private static final int MAGIC = 0x544C4154; // "TLAT"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    private final String worldName;
+    private final int[] corners;
+    private final String[] palette;
+    private final int bitsPerBlock;
+    private final long[] data;
+
+    private RegionTemplate(String worldName, int[] corners, String[] palette, int bitsPerBlock, long[] data) {
+        this.worldName = worldName;
+        this.corners = corners;
+        this.palette = palette;
+        this.bitsPerBlock = bitsPerBlock;
+        this.data = data;
+    }
+
+    // ---- Writing ----
+
+    /** Writes a snapshot to the given file, replacing any previous template atomically. */
+    public static void write(Path path, RegionSnapshot snapshot) throws IOException {
+        RegionBounds bounds = snapshot.getBounds();
+        ByteArrayOutputStream rawBytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(rawBytes)) {
+            out.writeUTF(bounds.getWorld().getName());
+            out.writeInt(bounds.getMinX());
+            out.writeInt(bounds.getMinY());
+            out.writeInt(bounds.getMinZ());
+            out.writeInt(bounds.getMaxX());
+            out.writeInt(bounds.getMaxY());
+            out.writeInt(bounds.getMaxZ());
+            BlockData[] blocks = snapshot.palette();
+            out.writeInt(blocks.length);
+            for (BlockData block : blocks) out.writeUTF(block.getAsString());
+            out.writeInt(snapshot.getBitsPerBlock());
+            long[] packed = snapshot.data();
+            out.writeInt(packed.length);
+            for (long word : packed) out.writeLong(word);
+        }
+        byte[] raw = rawBytes.toByteArray();
+        byte[] compressed = deflate(raw);
+
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC).putInt(VERSION).putInt(raw.length).putInt(compressed.length).putInt((int) crc.getValue());
+
+        Files.createDirectories(path.getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+            ByteBuffer body = ByteBuffer.wrap(compressed);
+            while (body.hasRemaining()) channel.write(body);
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 8));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // ---- Reading ----
+
+    /**
+     * Maps the file, checks its header and checksum and decodes the payload.
+     * Safe to call off the main thread; block data is resolved later by {@link #toSnapshot()}.
+     */
+    public static RegionTemplate read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES) throw new IOException("Template is truncated: " + path);
+            if (buffer.getInt() != MAGIC) throw new IOException("Not a region template: " + path);
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("Unsupported template version " + version + ": " + path);
+            int rawLength = buffer.getInt();
+            int compressedLength = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+            if (rawLength < 0 || compressedLength != buffer.remaining()) {
+                throw new IOException("Template length mismatch: " + path);
+            }
+
+            ByteBuffer payload = buffer.slice();
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != expectedCrc) throw new IOException("Template checksum mismatch: " + path);
+
+            return decode(inflate(payload, rawLength, path));
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer payload, int rawLength, Path path) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            ByteBuffer out = ByteBuffer.allocate(rawLength);
+            while (!inflater.finished()) {
+                if (inflater.inflate(out) == 0 && (inflater.needsInput() || inflater.needsDictionary() || !out.hasRemaining())) {
+                    throw new IOException("Template payload is corrupt: " + path);
+                }
+            }
+            if (out.hasRemaining()) throw new IOException("Template payload is truncated: " + path);
+            return out.array();
+        } catch (DataFormatException e) {
+            throw new IOException("Template payload is corrupt: " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static RegionTemplate decode(byte[] raw) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            String worldName = in.readUTF();
+            int[] corners = new int[6];
+            for (int i = 0; i < corners.length; i++) corners[i] = in.readInt();
+            String[] palette = new String[in.readInt()];
+            for (int i = 0; i < palette.length; i++) palette[i] = in.readUTF();
+            int bits = in.readInt();
+            long[] data = new long[in.readInt()];
+            for (int i = 0; i < data.length; i++) data[i] = in.readLong();
+            return new RegionTemplate(worldName, corners, palette, bits, data);
+        }
+    }
+
+    /** Resolves the world and palette into a snapshot. Must run on the main thread. */
+    public RegionSnapshot toSnapshot() {
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) throw new IllegalStateException("Template world '" + worldName + "' is not loaded");
+        RegionBounds bounds = new RegionBounds(world, corners[0], corners[1], corners[2], corners[3], corners[4], corners[5]);
+
+        int perLong = 64 / bitsPerBlock;
+        if (palette.length == 0 || RegionSnapshot.bitsFor(palette.length) > bitsPerBlock
+                || data.length != (bounds.getVolume() + perLong - 1) / perLong) {
+            throw new IllegalStateException("Template does not match its own bounds");
+        }
+        BlockData[] blocks = new BlockData[palette.length];
+        for (int i = 0; i < palette.length; i++) blocks[i] = Bukkit.createBlockData(palette[i]);
+        return new RegionSnapshot(bounds, blocks, bitsPerBlock, data);
+    }
+}
@@ -0,0 +1,167 @@
+package com.thelab.plugin.arena;
+
+import com.thelab.plugin.TheLabPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Global block restore queue shared by all arenas.
+ * One repeating task spends a per-tick time budget derived from the server's recent MSPT. Arenas that have
+ * players waiting on them (queued to join after the reset, or already inside for a pre-game repair) are
+ * served first; the remaining arenas share what is left round-robin.
+ */
+public class RestoreScheduler {
+
+    /** Blocks written between clock checks. */
+    private static final int CHECK_INTERVAL = 256;
+    /** Number of recent ticks averaged for the MSPT estimate. */
+    private static final int MSPT_SAMPLES = 5;
+
+    private final TheLabPlugin plugin;
+    private final List<Job> jobs = new ArrayList<>();
+    private final List<Job> priorityJobs = new ArrayList<>();
+    private final List<Job> otherJobs = new ArrayList<>();
+    private final List<Job> finished = new ArrayList<>();
+    private BukkitTask task;
+    private int rotation;
+
+    public RestoreScheduler(TheLabPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /** Queues the journaled blocks of a snapshot for restore. The callback runs on the main thread when done. */
+    public void submit(Arena arena, RegionSnapshot snapshot, RegionJournal changes, Runnable onComplete) {
+        jobs.add(new Job(arena, snapshot, changes, onComplete));
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /** Returns restore progress for the arena in [0, 1], or -1 if it has no restore queued. */
+    public double getProgress(Arena arena) {
+        for (Job job : jobs) {
+            if (job.arena == arena) return job.getProgress();
+        }
+        return -1;
+    }
+
+    /** Drops all queued work without running callbacks. */
+    public void shutdown() {
+        if (task != null) task.cancel();
+        task = null;
+        jobs.clear();
+    }
+
+    // ---- Tick ----
+
+    private void tick() {
+        if (jobs.isEmpty()) {
+            task.cancel();
+            task = null;
+            return;
+        }
+
+        long now = System.nanoTime();
+        long deadline = now + computeBudgetNanos();
+
+        // Split into priority and normal groups, rotating the start so equal arenas take turns going first
+        priorityJobs.clear();
+        otherJobs.clear();
+        int size = jobs.size();
+        rotation = (rotation + 1) % size;
+        for (int i = 0; i < size; i++) {
+            Job job = jobs.get((rotation + i) % size);
+            (hasWaitingPlayers(job.arena) ? priorityJobs : otherJobs).add(job);
+        }
+
+        drain(priorityJobs, deadline);
+        drain(otherJobs, deadline);
+
+        for (Job job : jobs) {
+            if (job.isDone()) finished.add(job);
+        }
+        jobs.removeAll(finished);
+        for (Job job : finished) {
+            if (job.onComplete != null) job.onComplete.run();
+        }
+        finished.clear();
+    }
+
+    private boolean hasWaitingPlayers(Arena arena) {
+        return plugin.getArenaManager().getQueuedCount(arena) > 0 || !arena.isEmpty();
+    }
+
+    /** Gives each job in the group an equal share of the time left until the deadline. */
+    private void drain(List<Job> group, long deadline) {
+        for (int i = 0; i < group.size(); i++) {
+            long now = System.nanoTime();
+            if (now >= deadline) return;
+            long slice = (deadline - now) / (group.size() - i);
+            group.get(i).run(now + slice);
+        }
+    }
+
+    /** Budget is whatever the recent MSPT leaves below the target, clamped to the configured range. */
+    private long computeBudgetNanos() {
+        double minMs = plugin.getConfigManager().getRestoreMinBudgetMs();
+        double maxMs = plugin.getConfigManager().getRestoreMaxBudgetMs();
+        double targetMs = plugin.getConfigManager().getRestoreTargetMspt();
+        double budgetMs = Math.max(minMs, Math.min(maxMs, targetMs - getRecentMspt()));
+        return (long) (budgetMs * 1_000_000L);
+    }
+
+    private double getRecentMspt() {
+        long[] times = Bukkit.getServer().getTickTimes();
+        if (times == null || times.length == 0) return Bukkit.getServer().getAverageTickTime();
+        int current = Bukkit.getCurrentTick();
+        long total = 0;
+        int samples = Math.min(MSPT_SAMPLES, times.length);
+        for (int i = 1; i <= samples; i++) {
+            total += times[Math.floorMod(current - i, times.length)];
+        }
+        return total / (samples * 1_000_000.0);
+    }
+
+    /** Restore of one arena's journaled blocks. */
+    private static final class Job {
+        final Arena arena;
+        final RegionSnapshot snapshot;
+        final RegionJournal changes;
+        final Runnable onComplete;
+        int position;
+
+        Job(Arena arena, RegionSnapshot snapshot, RegionJournal changes, Runnable onComplete) {
+            this.arena = arena;
+            this.snapshot = snapshot;
+            this.changes = changes;
+            this.onComplete = onComplete;
+        }
+
+        /** Writes blocks until the deadline passes or the job is done. Always makes some progress. */
+        void run(long deadline) {
+            RegionBounds bounds = snapshot.getBounds();
+            World world = bounds.getWorld();
+            int total = changes.size();
+            while (position < total) {
+                int end = Math.min(position + CHECK_INTERVAL, total);
+                for (int i = position; i < end; i++) {
+                    int index = changes.get(i);
+                    world.getBlockAt(bounds.xOf(index), bounds.yOf(index), bounds.zOf(index))
+                            .setBlockData(snapshot.get(index), false);
+                }
+                position = end;
+                if (System.nanoTime() >= deadline) return;
+            }
+        }
+
+        boolean isDone() { return position >= changes.size(); }
+
+        double getProgress() {
+            return changes.size() == 0 ? 1.0 : (double) position / changes.size();
+        }
+    }
+}
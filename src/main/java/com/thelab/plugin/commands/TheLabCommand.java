@@ -3,6 +3,7 @@ package com.thelab.plugin.commands;
 import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.ExperimentType;
+import com.thelab.plugin.game.GameSession;
 import com.thelab.plugin.stats.PlayerStats;
 import com.thelab.plugin.utils.MessageUtil;
 import org.bukkit.Bukkit;
@@ -144,9 +145,14 @@ public class TheLabCommand implements CommandExecutor, TabCompleter {
     private void handleList(CommandSender sender) {
         sender.sendMessage(MessageUtil.toComponent(plugin.getConfigManager().getMessage("arena.list-header")));
         for (Arena arena : plugin.getArenaManager().getArenas()) {
+            String state = arena.getState().getDisplayName();
+            double progress = plugin.getRestoreScheduler().getProgress(arena);
+            if (progress >= 0) state += " (" + (int) (progress * 100) + "%)";
+            GameSession session = plugin.getGameManager().getSession(arena).orElse(null);
+            if (session != null) state += String.format(" [%.2f ms/tick]", session.getAverageTickMillis());
             sender.sendMessage(MessageUtil.toComponent(plugin.getConfigManager().getMessage("arena.list-entry",
                     "id", arena.getId(),
-                    "state", arena.getState().getDisplayName(),
+                    "state", state,
                     "current", String.valueOf(arena.getPlayerCount()),
                     "max", String.valueOf(arena.getMaxPlayers()))));
         }
@@ -286,6 +292,7 @@ public class TheLabCommand implements CommandExecutor, TabCompleter {
     private void handleReload(CommandSender sender) {
         if (!sender.hasPermission("thelab.admin")) { noPerms(sender); return; }
         plugin.getConfigManager().load();
+        plugin.getScoreboardManager().markAllDirty();
         MessageUtil.sendRaw(sender, plugin.getConfigManager().getMessage("arena.reloaded"));
     }
 
@@ -8,7 +8,9 @@ import org.bukkit.plugin.java.JavaPlugin;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 
 /** Manages all plugin configuration files. */
@@ -25,6 +27,11 @@ public class ConfigManager {
 
     private File configFile, messagesFile, scoreboardFile, soundsFile, experimentsFile, arenasFile;
 
+    // Compiled from messages.yml on every load and swapped in whole
+    private volatile Map<String, MessageTemplate> messageTemplates = Map.of();
+    private volatile String prefix = "";
+    private volatile int generation;
+
     public ConfigManager(JavaPlugin plugin) {
         this.plugin = plugin;
     }
@@ -52,8 +59,26 @@ public class ConfigManager {
         sounds = YamlConfiguration.loadConfiguration(soundsFile);
         experiments = YamlConfiguration.loadConfiguration(experimentsFile);
         arenas = YamlConfiguration.loadConfiguration(arenasFile);
+        compileMessages();
+    }
+
+    /** Parses every message once; getMessage then only fills in placeholders. */
+    private void compileMessages() {
+        String compiledPrefix = MessageUtil.colorize(messages.getString("prefix", "&8[&aTheLab&8] &r"));
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (String path : messages.getKeys(true)) {
+            if (!messages.isString(path)) continue;
+            String raw = messages.getString(path);
+            compiled.put(path, MessageTemplate.compile(raw.replace("{prefix}", compiledPrefix)));
+        }
+        prefix = compiledPrefix;
+        messageTemplates = Map.copyOf(compiled);
+        generation++;
     }
 
+    /** Returns a counter that changes every time the configuration is (re)loaded. */
+    public int getGeneration() { return generation; }
+
     private void saveDefault(String name) {
         File f = new File(plugin.getDataFolder(), name);
         if (!f.exists()) {
@@ -80,7 +105,7 @@ public class ConfigManager {
     public FileConfiguration getArenas() { return arenas; }
 
     public String getPrefix() {
-        return MessageUtil.colorize(messages.getString("prefix", "&8[&aTheLab&8] &r"));
+        return prefix;
     }
 
     /**
@@ -92,14 +117,9 @@ public class ConfigManager {
      * @return colored, replaced message string
      */
     public String getMessage(String path, String... replacements) {
-        String raw = messages.getString(path, "&cMissing message: " + path);
-        raw = raw.replace("{prefix}", getPrefix());
-        if (replacements != null) {
-            for (int i = 0; i + 1 < replacements.length; i += 2) {
-                raw = raw.replace("{" + replacements[i] + "}", replacements[i + 1]);
-            }
-        }
-        return MessageUtil.colorize(raw);
+        MessageTemplate template = messageTemplates.get(path);
+        if (template == null) return MessageUtil.colorize("&cMissing message: " + path);
+        return template.format(replacements);
     }
 
     /**
@@ -148,6 +168,13 @@ public class ConfigManager {
     public String getMysqlPassword() { return config.getString("database.mysql.password", ""); }
     public String getMysqlTablePrefix() { return config.getString("database.mysql.table-prefix", "tl_"); }
     public int getMysqlPoolSize() { return config.getInt("database.mysql.pool-size", 10); }
+    public boolean isMysqlUseSsl() { return config.getBoolean("database.mysql.use-ssl", false); }
+
+    // ---- Region restore ----
+
+    public double getRestoreTargetMspt() { return config.getDouble("restore.target-mspt", 45.0); }
+    public double getRestoreMinBudgetMs() { return config.getDouble("restore.min-budget-ms", 1.0); }
+    public double getRestoreMaxBudgetMs() { return config.getDouble("restore.max-budget-ms", 15.0); }
 
     // ---- Bungee ----
 
@@ -157,5 +184,4 @@ public class ConfigManager {
     // ---- Scoreboard ----
 
     public boolean isScoreboardEnabled() { return config.getBoolean("scoreboard.enabled", true); }
-    public int getScoreboardUpdateInterval() { return config.getInt("scoreboard.update-interval", 10); }
 }
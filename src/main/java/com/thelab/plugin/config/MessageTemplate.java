@@ -0,0 +1,118 @@
+package com.thelab.plugin.config;
+
+import com.thelab.plugin.utils.MessageUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message or scoreboard line parsed once into literal text and {@code {placeholder}} slots.
+ * Literal text is colorized when compiled; rendering only appends literals and values, with no
+ * re-parsing or chained {@code String.replace}. Placeholders without a value are left as written.
+ */
+public final class MessageTemplate {
+
+    private final String[] literals;    // one more than placeholders
+    private final String[] names;
+    private final String[] verbatim;    // "{name}", used when no value is given
+    private final int[] slots;          // index into the keys compiled with, or -1
+
+    private MessageTemplate(String[] literals, String[] names, int[] slots) {
+        this.literals = literals;
+        this.names = names;
+        this.slots = slots;
+        this.verbatim = new String[names.length];
+        for (int i = 0; i < names.length; i++) verbatim[i] = "{" + names[i] + "}";
+    }
+
+    /**
+     * Parses a raw template.
+     * @param keys placeholder names to bind to value positions for {@link #render(StringBuilder, String[])};
+     *             placeholders not listed can still be filled by name with {@link #format(String...)}
+     */
+    public static MessageTemplate compile(String raw, String... keys) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < raw.length()) {
+            int open = raw.indexOf('{', i);
+            int close = open < 0 ? -1 : raw.indexOf('}', open + 1);
+            if (close < 0) {
+                literal.append(raw, i, raw.length());
+                break;
+            }
+            literal.append(raw, i, open);
+            literals.add(MessageUtil.colorize(literal.toString()));
+            literal.setLength(0);
+            names.add(raw.substring(open + 1, close));
+            i = close + 1;
+        }
+        literals.add(MessageUtil.colorize(literal.toString()));
+
+        int[] slots = new int[names.size()];
+        for (int p = 0; p < slots.length; p++) {
+            slots[p] = indexOf(keys, names.get(p));
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), names.toArray(new String[0]), slots);
+    }
+
+    /** Returns whether the template contains the given placeholder. */
+    public boolean uses(String name) {
+        return indexOf(names, name) >= 0;
+    }
+
+    /** Returns whether the template has no placeholders. */
+    public boolean isConstant() {
+        return names.length == 0;
+    }
+
+    /**
+     * Renders into a reused buffer.
+     * @param values values in the order of the keys the template was compiled with; null leaves the placeholder
+     */
+    public String render(StringBuilder buffer, String[] values) {
+        if (names.length == 0) return literals[0];
+        buffer.setLength(0);
+        for (int p = 0; p < names.length; p++) {
+            buffer.append(literals[p]);
+            String value = slots[p] >= 0 ? values[slots[p]] : null;
+            appendValue(buffer, value != null ? value : verbatim[p]);
+        }
+        buffer.append(literals[names.length]);
+        return buffer.toString();
+    }
+
+    /** Renders with alternating key, value pairs (e.g. "player", "Steve"). */
+    public String format(String... replacements) {
+        if (names.length == 0) return literals[0];
+        StringBuilder buffer = new StringBuilder(64);
+        for (int p = 0; p < names.length; p++) {
+            buffer.append(literals[p]);
+            String value = null;
+            if (replacements != null) {
+                for (int r = 0; r + 1 < replacements.length; r += 2) {
+                    if (names[p].equals(replacements[r])) {
+                        value = replacements[r + 1];
+                        break;
+                    }
+                }
+            }
+            appendValue(buffer, value != null ? value : verbatim[p]);
+        }
+        buffer.append(literals[names.length]);
+        return buffer.toString();
+    }
+
+    // Values were colorized along with the rest of the line before templates were compiled
+    private static void appendValue(StringBuilder buffer, String value) {
+        buffer.append(value.indexOf('&') >= 0 ? MessageUtil.colorize(value) : value);
+    }
+
+    private static int indexOf(String[] keys, String name) {
+        for (int k = 0; k < keys.length; k++) {
+            if (keys[k].equals(name)) return k;
+        }
+        return -1;
+    }
+}
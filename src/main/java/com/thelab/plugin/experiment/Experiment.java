@@ -1,15 +1,28 @@
 package com.thelab.plugin.experiment;
 
+import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.game.ScoreManager;
+import com.thelab.plugin.game.TimingWheel;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Base class for all TheLab experiments.
- * Subclasses override lifecycle methods and register Bukkit listeners.
+ * Subclasses override lifecycle methods and declare the events they react to with
+ * {@link #handle(Class, Consumer)}; the {@link ExperimentEventDispatcher} routes those to them.
+ * Periodic work is declared with {@link #every(int, Runnable)} and driven by the arena's game session,
+ * which also ends the experiment when its duration is up.
  */
 public abstract class Experiment {
 
@@ -17,12 +30,29 @@ public abstract class Experiment {
     protected final ExperimentConfig config;
     protected final ScoreManager scoreManager;
     protected boolean running;
+    /** Delayed actions and entity lifetimes; cancelled automatically when the experiment finishes. */
+    protected final TimingWheel.Group timers;
+    private final Map<Class<? extends Event>, Consumer<Event>> handlers = new HashMap<>();
+    private final List<Periodic> periodics = new ArrayList<>();
+    private Runnable onEnd;
+    private boolean finished;
+
+    private static final class Periodic {
+        final int period;
+        final Runnable handler;
+
+        Periodic(int period, Runnable handler) {
+            this.period = period;
+            this.handler = handler;
+        }
+    }
 
     public Experiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         this.arena = arena;
         this.config = config;
         this.scoreManager = scoreManager;
         this.running = false;
+        this.timers = TheLabPlugin.getInstance().getTimingWheel().newGroup();
     }
 
     /** Returns the type of this experiment. */
@@ -30,18 +60,69 @@ public abstract class Experiment {
 
     /**
      * Called when the experiment starts.
-     * Give kits, teleport players, start timers, spawn entities, etc.
+     * Give kits, teleport players, declare periodic work, spawn entities, etc.
      *
      * @param players all active (non-spectator) players
-     * @param onEnd   callback to invoke when the experiment is over
      */
-    public abstract void start(List<Player> players, Runnable onEnd);
+    protected abstract void start(List<Player> players);
+
+    /**
+     * Called once when the experiment ends (time out, win condition or forced stop).
+     * Clean up entities, clear inventories, award end-of-round scores.
+     */
+    protected abstract void end();
 
     /**
-     * Called when the experiment ends (time out or win condition).
-     * Clean up entities, cancel tasks, clear inventories.
+     * Starts the experiment.
+     * @param onEnd callback to invoke once the experiment finishes on its own or by timing out
      */
-    public abstract void end();
+    public final void begin(List<Player> players, Runnable onEnd) {
+        this.onEnd = onEnd;
+        this.finished = false;
+        periodics.clear();
+        start(players);
+    }
+
+    /** Ends the experiment and reports it over. Safe to call more than once; only the first call counts. */
+    protected final void finish() {
+        if (finished) return;
+        stop();
+        if (onEnd != null) onEnd.run();
+    }
+
+    /** Ends the experiment without reporting it over, e.g. when the arena is reset mid-game. */
+    public final void stop() {
+        if (finished) return;
+        finished = true;
+        running = false;
+        periodics.clear();
+        try {
+            end();
+        } finally {
+            timers.cancelAll();
+        }
+    }
+
+    /** Lets the session end the experiment when its time is up. */
+    public final void timeUp() {
+        finish();
+    }
+
+    /**
+     * Runs a handler every {@code periodTicks} ticks of play, first after one full period.
+     * Call from {@link #start(List)}; handlers stop when the experiment ends.
+     */
+    protected final void every(int periodTicks, Runnable handler) {
+        periodics.add(new Periodic(Math.max(1, periodTicks), handler));
+    }
+
+    /** Runs the periodic handlers due on the given tick of play. Called by the game session. */
+    public final void tick(int playTick) {
+        for (int i = 0; i < periodics.size() && running && !finished; i++) {
+            Periodic periodic = periodics.get(i);
+            if (playTick % periodic.period == 0) periodic.handler.run();
+        }
+    }
 
     /**
      * Eliminates a player from the experiment (moves to spectator).
@@ -54,6 +135,40 @@ public abstract class Experiment {
         return arena.getPlayers().size() <= 1;
     }
 
+    /**
+     * Declares a handler for an event type. Call from the constructor so the
+     * dispatcher sees the full set when the experiment is registered.
+     */
+    @SuppressWarnings("unchecked")
+    protected final <E extends Event> void handle(Class<E> type, Consumer<E> handler) {
+        handlers.put(type, (Consumer<Event>) (Consumer<?>) handler);
+    }
+
+    /** Declares that players cannot damage each other during this experiment. */
+    protected final void disablePvp() {
+        handle(EntityDamageByEntityEvent.class, event -> {
+            if (event.getEntity() instanceof Player && event.getDamager() instanceof Player) {
+                event.setCancelled(true);
+            }
+        });
+    }
+
+    /** Returns the event types this experiment declared handlers for. */
+    public Set<Class<? extends Event>> getHandledEvents() {
+        return Collections.unmodifiableSet(handlers.keySet());
+    }
+
+    /**
+     * Passes an event to the handler declared for its type.
+     * @return true if this experiment handles the type
+     */
+    public <E extends Event> boolean dispatch(Class<E> type, E event) {
+        Consumer<Event> handler = handlers.get(type);
+        if (handler == null) return false;
+        handler.accept(event);
+        return true;
+    }
+
     /** Returns whether this experiment is currently running. */
     public boolean isRunning() { return running; }
 
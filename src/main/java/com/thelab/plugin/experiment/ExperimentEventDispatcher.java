@@ -0,0 +1,59 @@
+package com.thelab.plugin.experiment;
+
+import com.thelab.plugin.arena.Arena;
+import com.thelab.plugin.arena.ArenaState;
+import org.bukkit.event.Event;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes Bukkit events to the running experiment of an arena.
+ * Keeps a count of running experiments per declared event type, so listeners can drop
+ * events nobody subscribes to with a single map lookup before resolving the arena.
+ * Main thread only.
+ */
+public class ExperimentEventDispatcher {
+
+    private final Map<String, Experiment> active = new HashMap<>();
+    private final Map<Class<? extends Event>, Integer> subscriptions = new HashMap<>();
+
+    /** Makes an experiment the event target for its arena, replacing any previous one. */
+    public void register(Arena arena, Experiment experiment) {
+        unregister(arena);
+        active.put(arena.getId(), experiment);
+        for (Class<? extends Event> type : experiment.getHandledEvents()) {
+            subscriptions.merge(type, 1, Integer::sum);
+        }
+    }
+
+    /** Stops routing events to the arena's experiment. */
+    public void unregister(Arena arena) {
+        Experiment experiment = active.remove(arena.getId());
+        if (experiment == null) return;
+        for (Class<? extends Event> type : experiment.getHandledEvents()) {
+            subscriptions.computeIfPresent(type, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /** Returns whether any running experiment handles the given event type. */
+    public boolean isSubscribed(Class<? extends Event> type) {
+        return subscriptions.containsKey(type);
+    }
+
+    /**
+     * Passes an event to the arena's experiment while it is in play.
+     * @return true if the experiment declared a handler for the type
+     */
+    public <E extends Event> boolean dispatch(Arena arena, Class<E> type, E event) {
+        if (!subscriptions.containsKey(type)) return false;
+        if (arena.getState() != ArenaState.EXPERIMENT_PLAY) return false;
+        Experiment experiment = active.get(arena.getId());
+        return experiment != null && experiment.dispatch(type, event);
+    }
+
+    public void clear() {
+        active.clear();
+        subscriptions.clear();
+    }
+}
@@ -0,0 +1,155 @@
+package com.thelab.plugin.experiment;
+
+import org.bukkit.Location;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ordered course of oriented gates for race experiments.
+ * Each gate is an upright disc facing either the yaw of its location or, for courses built
+ * {@link #alongPath along their path}, the direction from the previous gate to the next. Racers are advanced with
+ * their newest position; the segment from their previous position is tested against their
+ * next gate only, so fast movers cannot skip a gate between samples. The test is a pair of
+ * plane distances and one squared-radius check, with no allocation.
+ */
+public class RaceCourse {
+
+    private final double[] cx, cy, cz;
+    private final double[] nx, nz;
+    private final double radiusSquared;
+    private final boolean loop;
+    private final Map<UUID, Racer> racers = new HashMap<>();
+
+    private static final class Racer {
+        double x, y, z;
+        int next;
+        // Cleared by a backwards crossing; the next forward crossing only re-arms
+        boolean armed;
+    }
+
+    /**
+     * @param gates  gate centres, facing the direction racers must pass through them
+     * @param radius gate radius in blocks
+     * @param loop   whether the course wraps around to its first gate (laps)
+     */
+    public RaceCourse(List<Location> gates, double radius, boolean loop) {
+        this(gates, radius, loop, false);
+    }
+
+    /**
+     * Builds a course whose gates face along the path, ignoring the stored yaws, so a checkpoint
+     * saved while facing sideways still faces the racers. A gate with no horizontal neighbour
+     * direction (a single gate, or gates stacked vertically) falls back to its yaw.
+     */
+    public static RaceCourse alongPath(List<Location> gates, double radius, boolean loop) {
+        return new RaceCourse(gates, radius, loop, true);
+    }
+
+    private RaceCourse(List<Location> gates, double radius, boolean loop, boolean alongPath) {
+        int n = gates.size();
+        cx = new double[n]; cy = new double[n]; cz = new double[n];
+        nx = new double[n]; nz = new double[n];
+        for (int i = 0; i < n; i++) {
+            Location gate = gates.get(i);
+            double yaw = Math.toRadians(gate.getYaw());
+            cx[i] = gate.getX();
+            cy[i] = gate.getY();
+            cz[i] = gate.getZ();
+            nx[i] = -Math.sin(yaw);
+            nz[i] = Math.cos(yaw);
+        }
+        if (alongPath && n > 1) {
+            for (int i = 0; i < n; i++) {
+                int prev = loop ? (i + n - 1) % n : Math.max(i - 1, 0);
+                int next = loop ? (i + 1) % n : Math.min(i + 1, n - 1);
+                double dx = cx[next] - cx[prev];
+                double dz = cz[next] - cz[prev];
+                double length = Math.sqrt(dx * dx + dz * dz);
+                if (length < 1e-6) continue;
+                nx[i] = dx / length;
+                nz[i] = dz / length;
+            }
+        }
+        this.radiusSquared = radius * radius;
+        this.loop = loop;
+    }
+
+    public int size() { return cx.length; }
+
+    /**
+     * Starts tracking a racer at a position, heading for the given gate.
+     * On a looped course a racer starting behind that gate has not started yet,
+     * so their first crossing of it is the start rather than a completed lap.
+     */
+    public void addRacer(UUID id, double x, double y, double z, int nextGate) {
+        Racer racer = new Racer();
+        racer.x = x;
+        racer.y = y;
+        racer.z = z;
+        racer.next = nextGate;
+        racer.armed = !loop || nextGate >= size() || side(nextGate, x, z) >= 0;
+        racers.put(id, racer);
+    }
+
+    public void removeRacer(UUID id) {
+        racers.remove(id);
+    }
+
+    /** Returns the gate the racer is heading for, or -1 if not tracked. Equals {@link #size()} once finished. */
+    public int getNextGate(UUID id) {
+        Racer racer = racers.get(id);
+        return racer != null ? racer.next : -1;
+    }
+
+    /**
+     * Moves a racer to a new position.
+     * @return the index of the gate passed on the way, or -1 if none
+     */
+    public int advance(UUID id, double x, double y, double z) {
+        Racer racer = racers.get(id);
+        if (racer == null) return -1;
+        int gate = racer.next;
+        int crossed = gate < size() ? crossing(gate, racer.x, racer.y, racer.z, x, y, z) : 0;
+        racer.x = x;
+        racer.y = y;
+        racer.z = z;
+
+        if (crossed < 0) {
+            racer.armed = false;
+            return -1;
+        }
+        if (crossed == 0) return -1;
+        if (!racer.armed) {
+            racer.armed = true;
+            return -1;
+        }
+        racer.next = loop ? (gate + 1) % size() : gate + 1;
+        return gate;
+    }
+
+    public void clear() {
+        racers.clear();
+    }
+
+    /** Signed distance of a point from the gate plane; positive is past the gate. */
+    private double side(int gate, double x, double z) {
+        return (x - cx[gate]) * nx[gate] + (z - cz[gate]) * nz[gate];
+    }
+
+    /** Returns 1 for a forward pass through the gate disc, -1 for a backward one, 0 otherwise. */
+    private int crossing(int gate, double x0, double y0, double z0, double x1, double y1, double z1) {
+        double d0 = side(gate, x0, z0);
+        double d1 = side(gate, x1, z1);
+        if ((d0 < 0) == (d1 < 0)) return 0;
+
+        double t = d0 / (d0 - d1);
+        double qx = x0 + t * (x1 - x0) - cx[gate];
+        double qy = y0 + t * (y1 - y0) - cy[gate];
+        double qz = z0 + t * (z1 - z0) - cz[gate];
+        if (qx * qx + qy * qy + qz * qz > radiusSquared) return 0;
+        return d0 < 0 ? 1 : -1;
+    }
+}
@@ -1,6 +1,5 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
@@ -12,9 +11,8 @@ import org.bukkit.*;
 import org.bukkit.entity.Chicken;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
@@ -25,20 +23,23 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class BalloonPopExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
     private final Map<UUID, Integer> balloonPoints = new HashMap<>(); // entity UUID -> point value
-    private Runnable onEnd;
 
     public BalloonPopExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(ProjectileHitEvent.class, event -> {
+            if (event.getEntity().getShooter() instanceof Player shooter && event.getHitEntity() != null) {
+                handleBalloonHit(shooter, event.getHitEntity());
+            }
+        });
+        disablePvp();
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.BALLOON_POP; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.BALLOON_POP);
@@ -63,42 +64,18 @@ public class BalloonPopExperiment extends Experiment {
             final Location base = spawnBase;
 
             // Spawn balloons periodically
-            BukkitTask spawnTask = new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (!running) { cancel(); return; }
-                    spawnBalloon(base, max);
-                }
-            }.runTaskTimer(TheLabPlugin.getInstance(), 10L, 30L);
-            tasks.add(spawnTask);
+            every(30, () -> spawnBalloon(base, max));
         }
 
         // Replenish arrows
-        BukkitTask arrowTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                for (Player p : arena.getPlayers()) {
-                    ItemStack arrows = p.getInventory().getItem(9);
-                    if (arrows == null || arrows.getType() != Material.ARROW || arrows.getAmount() < 16) {
-                        p.getInventory().setItem(9, new ItemStack(Material.ARROW, 64));
-                    }
+        every(40, () -> {
+            for (Player p : arena.getPlayers()) {
+                ItemStack arrows = p.getInventory().getItem(9);
+                if (arrows == null || arrows.getType() != Material.ARROW || arrows.getAmount() < 16) {
+                    p.getInventory().setItem(9, new ItemStack(Material.ARROW, 64));
                 }
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 40L, 40L);
-        tasks.add(arrowTask);
-
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        });
     }
 
     private void spawnBalloon(Location base, Location max) {
@@ -128,15 +105,12 @@ public class BalloonPopExperiment extends Experiment {
         balloonPoints.put(balloon.getUniqueId(), points);
 
         // Auto-despawn after 10s
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (balloon.isValid()) {
-                    balloon.remove();
-                    balloonPoints.remove(balloon.getUniqueId());
-                }
+        timers.schedule(200L, () -> {
+            if (balloon.isValid()) {
+                balloon.remove();
+                balloonPoints.remove(balloon.getUniqueId());
             }
-        }.runTaskLater(TheLabPlugin.getInstance(), 200L);
+        });
     }
 
     /** Called when a player shoots a balloon entity. */
@@ -154,10 +128,8 @@ public class BalloonPopExperiment extends Experiment {
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
         // Remove all balloons
         for (UUID uid : balloonPoints.keySet()) {
             Entity e = Bukkit.getEntity(uid);
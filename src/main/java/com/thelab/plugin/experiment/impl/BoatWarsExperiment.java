@@ -1,6 +1,5 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
@@ -9,11 +8,12 @@ import com.thelab.plugin.game.ScoreManager;
 import com.thelab.plugin.utils.MessageUtil;
 import com.thelab.plugin.utils.SoundUtil;
 import org.bukkit.*;
+import org.bukkit.entity.Arrow;
 import org.bukkit.entity.Boat;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
@@ -23,21 +23,26 @@ import java.util.*;
  */
 public class BoatWarsExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
     private final Map<UUID, Integer> boatHealth = new HashMap<>(); // player UUID -> boat HP
     private final Map<UUID, Boat> playerBoats = new HashMap<>();
-    private Runnable onEnd;
 
     public BoatWarsExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(ProjectileHitEvent.class, event -> {
+            if (!(event.getEntity() instanceof Arrow) || !(event.getHitEntity() instanceof Boat boat)) return;
+            for (Entity passenger : boat.getPassengers()) {
+                if (passenger instanceof Player victim && victim != event.getEntity().getShooter()) {
+                    handleBoatHit(victim);
+                }
+            }
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.BOAT_WARS; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         int maxHp = config.getInt("boat-health", 5);
@@ -62,18 +67,10 @@ public class BoatWarsExperiment extends Experiment {
             MessageUtil.sendRaw(p, "&eBoat Wars! Shoot enemy boats! HP: " + maxHp);
         }
 
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                if (arena.getPlayers().size() <= 1) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        // Last boat afloat
+        every(20, () -> {
+            if (arena.getPlayers().size() <= 1) finish();
+        });
     }
 
     /** Called when a player's boat is hit by an arrow. */
@@ -90,7 +87,7 @@ public class BoatWarsExperiment extends Experiment {
             arena.broadcastToPlayers("&e" + victim.getName() + "'s boat was destroyed!");
             SoundUtil.playElimination(victim);
             boolean shouldEnd = eliminate(victim);
-            if (shouldEnd) { end(); if (onEnd != null) onEnd.run(); }
+            if (shouldEnd) finish();
         } else {
             boatHealth.put(victim.getUniqueId(), hp);
             MessageUtil.sendRaw(victim, "&cBoat HP: &e" + hp);
@@ -98,10 +95,8 @@ public class BoatWarsExperiment extends Experiment {
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
         for (Boat b : playerBoats.values()) {
             if (b.isValid()) b.remove();
         }
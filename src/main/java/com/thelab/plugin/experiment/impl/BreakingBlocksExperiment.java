@@ -1,6 +1,5 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
@@ -12,10 +11,9 @@ import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
@@ -26,9 +24,6 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class BreakingBlocksExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
-    private Runnable onEnd;
-
     // Block material -> point value
     private static final Map<Material, Integer> BLOCK_POINTS = new LinkedHashMap<>();
     static {
@@ -45,14 +40,18 @@ public class BreakingBlocksExperiment extends Experiment {
 
     public BreakingBlocksExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(BlockBreakEvent.class, event -> {
+            event.setCancelled(true);
+            event.setDropItems(false);
+            handleBlockBreak(event.getPlayer(), event.getBlock());
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.BREAKING_BLOCKS; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.BREAKING_BLOCKS);
@@ -70,36 +69,20 @@ public class BreakingBlocksExperiment extends Experiment {
             final Location min = arenaMin;
             final Location max = arenaMax;
             int regenInterval = config.getInt("regenerate-interval", 10) * 20;
-            BukkitTask regenTask = new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (!running) { cancel(); return; }
-                    // Randomly place ore blocks in arena
-                    ThreadLocalRandom r = ThreadLocalRandom.current();
-                    for (int i = 0; i < 5; i++) {
-                        Location loc = com.thelab.plugin.utils.LocationUtil.randomInRegion(min, max);
-                        Block block = loc.getBlock();
-                        if (block.getType() == Material.AIR || block.getType() == Material.CAVE_AIR) {
-                            Material mat = BLOCK_MATERIALS[r.nextInt(BLOCK_MATERIALS.length)];
-                            block.setType(mat, false);
-                        }
+            every(regenInterval, () -> {
+                // Randomly place ore blocks in arena
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                for (int i = 0; i < 5; i++) {
+                    Location loc = com.thelab.plugin.utils.LocationUtil.randomInRegion(min, max);
+                    Block block = loc.getBlock();
+                    if (block.getType() == Material.AIR || block.getType() == Material.CAVE_AIR) {
+                        Material mat = BLOCK_MATERIALS[r.nextInt(BLOCK_MATERIALS.length)];
+                        arena.getRegionManager().recordChange(block);
+                        block.setType(mat, false);
                     }
                 }
-            }.runTaskTimer(TheLabPlugin.getInstance(), regenInterval, regenInterval);
-            tasks.add(regenTask);
+            });
         }
-
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
     }
 
     private void giveKit(Player p) {
@@ -120,6 +103,7 @@ public class BreakingBlocksExperiment extends Experiment {
         Integer points = BLOCK_POINTS.get(block.getType());
         if (points == null) return;
         // Don't drop items - cancel drop and award points
+        arena.getRegionManager().recordChange(block);
         block.setType(Material.AIR, false);
         scoreManager.addScore(player.getUniqueId(), points);
         SoundUtil.playScore(player);
@@ -127,9 +111,7 @@ public class BreakingBlocksExperiment extends Experiment {
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
     }
 }
@@ -1,7 +1,7 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
+import com.thelab.plugin.arena.RegionBounds;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
 import com.thelab.plugin.experiment.ExperimentType;
@@ -10,9 +10,9 @@ import com.thelab.plugin.utils.MessageUtil;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
+import org.bukkit.event.entity.PotionSplashEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
@@ -22,9 +22,30 @@ import java.util.*;
  */
 public class CrazyPaintsExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
     private final Map<UUID, DyeColor> playerColors = new HashMap<>();
-    private Runnable onEnd;
+
+    // Paintable tiles by RegionBounds index: NOT_A_TILE, UNPAINTED, or dye ordinal + 1
+    private static final byte NOT_A_TILE = 0;
+    private static final byte UNPAINTED = -1;
+    private RegionBounds bounds;
+    private byte[] tiles;
+    private final int[] colorCounts = new int[DyeColor.values().length];
+
+    // Tile each player last stood on (-1 outside the region), and writes waiting for the next tick
+    private final Map<UUID, Integer> lastTile = new HashMap<>();
+    private final Map<Integer, DyeColor> pendingPaint = new LinkedHashMap<>();
+
+    private static final Map<Material, DyeColor> WOOL_COLORS = new EnumMap<>(Material.class);
+    private static final Set<Material> CONCRETE = EnumSet.noneOf(Material.class);
+    private static final Material[] WOOL_BY_COLOR = new Material[DyeColor.values().length];
+    static {
+        for (DyeColor color : DyeColor.values()) {
+            Material wool = Material.valueOf(color.name() + "_WOOL");
+            WOOL_COLORS.put(wool, color);
+            WOOL_BY_COLOR[color.ordinal()] = wool;
+            CONCRETE.add(Material.valueOf(color.name() + "_CONCRETE"));
+        }
+    }
 
     private static final DyeColor[] COLOR_POOL = {
             DyeColor.RED, DyeColor.BLUE, DyeColor.GREEN, DyeColor.YELLOW,
@@ -33,16 +54,42 @@ public class CrazyPaintsExperiment extends Experiment {
 
     public CrazyPaintsExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        disablePvp();
+        handle(PlayerMoveEvent.class, event -> {
+            DyeColor color = playerColors.get(event.getPlayer().getUniqueId());
+            if (color == null || !running || tiles == null) return;
+            Location to = event.getTo();
+            int x = to.getBlockX(), y = to.getBlockY() - 1, z = to.getBlockZ();
+            int tile = bounds.contains(x, y, z) ? bounds.index(x, y, z) : -1;
+            Integer last = lastTile.put(event.getPlayer().getUniqueId(), tile);
+            if (last != null && last == tile) return;
+            queuePaint(tile, color);
+        });
+        handle(PotionSplashEvent.class, event -> {
+            if (!(event.getEntity().getShooter() instanceof Player thrower)) return;
+            DyeColor color = playerColors.get(thrower.getUniqueId());
+            if (color == null || !running) return;
+            Location hit = event.getEntity().getLocation();
+            int x = hit.getBlockX(), y = hit.getBlockY(), z = hit.getBlockZ();
+            if (!isTile(x, y, z)) y--;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    if (bounds.contains(x + dx, y, z + dz)) queuePaint(bounds.index(x + dx, y, z + dz), color);
+                }
+            }
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.CRAZY_PAINTS; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
         playerColors.clear();
+        lastTile.clear();
+        pendingPaint.clear();
+        buildTiles();
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.CRAZY_PAINTS);
         for (int i = 0; i < players.size(); i++) {
@@ -60,110 +107,85 @@ public class CrazyPaintsExperiment extends Experiment {
             MessageUtil.sendRaw(p, "&eCrazy Paints! Your color: &f" + color.name().replace("_", " "));
         }
 
-        // Paint blocks under players as they walk
-        BukkitTask paintTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                for (Player p : arena.getPlayers()) {
-                    DyeColor color = playerColors.get(p.getUniqueId());
-                    if (color == null) continue;
-                    Block below = p.getLocation().subtract(0, 1, 0).getBlock();
-                    if (isWoolOrConcrete(below)) {
-                        below.setType(Material.valueOf(color.name() + "_WOOL"), false);
-                    }
-                }
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 2L, 2L);
-        tasks.add(paintTask);
+        // Apply the tiles painted by movement and splashes once per tick
+        every(1, this::flushPaint);
 
         // Refill splash potions
         int refillInterval = config.getInt("splash-refill-interval", 15) * 20;
-        BukkitTask refillTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                for (Player p : arena.getPlayers()) {
-                    p.getInventory().setItem(1, new ItemStack(Material.SPLASH_POTION, 1));
-                }
+        every(refillInterval, () -> {
+            for (Player p : arena.getPlayers()) {
+                p.getInventory().setItem(1, new ItemStack(Material.SPLASH_POTION, 1));
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), refillInterval, refillInterval);
-        tasks.add(refillTask);
+        });
 
         // Score update task
-        BukkitTask scoreTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                // Count blocks per player color
-                countAndUpdateScores();
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 40L, 40L);
-        tasks.add(scoreTask);
-
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        every(40, this::updateScores);
     }
 
-    private void countAndUpdateScores() {
-        Location min = arena.getConfig().getArenaMin();
-        Location max = arena.getConfig().getArenaMax();
-        if (min == null || max == null || min.getWorld() == null) return;
-
-        Map<DyeColor, Integer> colorCounts = new HashMap<>();
-        int minX = Math.min(min.getBlockX(), max.getBlockX());
-        int maxX = Math.max(min.getBlockX(), max.getBlockX());
-        int minY = Math.min(min.getBlockY(), max.getBlockY());
-        int maxY = Math.max(min.getBlockY(), max.getBlockY());
-        int minZ = Math.min(min.getBlockZ(), max.getBlockZ());
-        int maxZ = Math.max(min.getBlockZ(), max.getBlockZ());
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    Block b = min.getWorld().getBlockAt(x, y, z);
-                    DyeColor dc = woolToDye(b.getType());
-                    if (dc != null) colorCounts.merge(dc, 1, Integer::sum);
+    /** Scans the arena once for paintable floor tiles and counts the colors already on it. */
+    private void buildTiles() {
+        Arrays.fill(colorCounts, 0);
+        bounds = RegionBounds.of(arena.getConfig().getArenaMin(), arena.getConfig().getArenaMax());
+        if (bounds == null) { tiles = null; return; }
+        tiles = new byte[bounds.getVolume()];
+        World world = bounds.getWorld();
+        for (int x = bounds.getMinX(); x <= bounds.getMaxX(); x++) {
+            for (int y = bounds.getMinY(); y <= bounds.getMaxY(); y++) {
+                for (int z = bounds.getMinZ(); z <= bounds.getMaxZ(); z++) {
+                    Material type = world.getBlockAt(x, y, z).getType();
+                    DyeColor color = WOOL_COLORS.get(type);
+                    if (color != null) {
+                        tiles[bounds.index(x, y, z)] = (byte) (color.ordinal() + 1);
+                        colorCounts[color.ordinal()]++;
+                    } else if (CONCRETE.contains(type)) {
+                        tiles[bounds.index(x, y, z)] = UNPAINTED;
+                    }
                 }
             }
         }
+    }
 
-        // Reset experiment scores and set to block counts
-        scoreManager.resetExperimentScores();
-        for (Map.Entry<UUID, DyeColor> entry : playerColors.entrySet()) {
-            int count = colorCounts.getOrDefault(entry.getValue(), 0);
-            scoreManager.addScore(entry.getKey(), count);
-        }
+    private boolean isTile(int x, int y, int z) {
+        return tiles != null && bounds.contains(x, y, z) && tiles[bounds.index(x, y, z)] != NOT_A_TILE;
     }
 
-    private boolean isWoolOrConcrete(Block block) {
-        String name = block.getType().name();
-        return name.endsWith("_WOOL") || name.endsWith("_CONCRETE");
+    /** Queues a tile to be painted on the next flush. A later write to the same tile replaces the earlier one. */
+    private void queuePaint(int index, DyeColor color) {
+        if (index < 0 || tiles[index] == NOT_A_TILE) return;
+        if (tiles[index] == color.ordinal() + 1) { pendingPaint.remove(index); return; }
+        pendingPaint.put(index, color);
     }
 
-    private DyeColor woolToDye(Material mat) {
-        String name = mat.name();
-        if (name.endsWith("_WOOL")) {
-            try { return DyeColor.valueOf(name.replace("_WOOL", "")); }
-            catch (Exception ignored) {}
+    /** Paints every queued tile, keeping the per-color counts in step. */
+    private void flushPaint() {
+        if (pendingPaint.isEmpty()) return;
+        World world = bounds.getWorld();
+        for (Map.Entry<Integer, DyeColor> entry : pendingPaint.entrySet()) {
+            int index = entry.getKey();
+            DyeColor color = entry.getValue();
+            byte previous = tiles[index];
+            if (previous != UNPAINTED) colorCounts[previous - 1]--;
+            tiles[index] = (byte) (color.ordinal() + 1);
+            colorCounts[color.ordinal()]++;
+
+            Block block = world.getBlockAt(bounds.xOf(index), bounds.yOf(index), bounds.zOf(index));
+            arena.getRegionManager().recordChange(block);
+            block.setType(WOOL_BY_COLOR[color.ordinal()], false);
+        }
+        pendingPaint.clear();
+    }
+
+    /** Sets each player's score to the number of tiles in their color. */
+    private void updateScores() {
+        for (Map.Entry<UUID, DyeColor> entry : playerColors.entrySet()) {
+            scoreManager.setScore(entry.getKey(), colorCounts[entry.getValue().ordinal()]);
         }
-        return null;
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        countAndUpdateScores();
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
+        flushPaint();
+        updateScores();
     }
 }
@@ -1,6 +1,5 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
@@ -11,10 +10,9 @@ import com.thelab.plugin.utils.SoundUtil;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.entity.Snowball;
+import org.bukkit.event.entity.ProjectileHitEvent;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,19 +21,20 @@ import java.util.List;
  */
 public class DodgeBallExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
-    private Runnable onEnd;
-
     public DodgeBallExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(ProjectileHitEvent.class, event -> {
+            if (event.getEntity() instanceof Snowball && event.getHitEntity() instanceof Player victim) {
+                handleHit(victim);
+            }
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.DODGE_BALL; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.DODGE_BALL);
@@ -54,41 +53,20 @@ public class DodgeBallExperiment extends Experiment {
         }
 
         // Replenish snowballs every 5s
-        BukkitTask replenish = new BukkitRunnable() {
-            @Override public void run() {
-                if (!running) { cancel(); return; }
-                for (Player p : arena.getPlayers()) {
-                    org.bukkit.inventory.ItemStack balls = p.getInventory().getItem(0);
-                    if (balls == null || balls.getType() != org.bukkit.Material.SNOWBALL || balls.getAmount() < 16) {
-                        p.getInventory().setItem(0,
-                                new org.bukkit.inventory.ItemStack(org.bukkit.Material.SNOWBALL, 64));
-                    }
+        every(100, () -> {
+            for (Player p : arena.getPlayers()) {
+                org.bukkit.inventory.ItemStack balls = p.getInventory().getItem(0);
+                if (balls == null || balls.getType() != org.bukkit.Material.SNOWBALL || balls.getAmount() < 16) {
+                    p.getInventory().setItem(0,
+                            new org.bukkit.inventory.ItemStack(org.bukkit.Material.SNOWBALL, 64));
                 }
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 100L, 100L);
-        tasks.add(replenish);
+        });
 
-        // Time limit
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) {
-                    cancel();
-                    end();
-                    onEnd.run();
-                    return;
-                }
-                if (arena.getPlayers().size() <= 1) {
-                    cancel();
-                    end();
-                    onEnd.run();
-                    return;
-                }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        // Last player standing
+        every(20, () -> {
+            if (arena.getPlayers().size() <= 1) finish();
+        });
     }
 
     /** Called by DodgeBallListener when a player is hit. */
@@ -98,17 +76,12 @@ public class DodgeBallExperiment extends Experiment {
         MessageUtil.sendRaw(victim, "&cYou were eliminated!");
         arena.broadcastToPlayers("&e" + victim.getName() + " &cwas eliminated!");
         boolean shouldEnd = eliminate(victim);
-        if (shouldEnd) {
-            end();
-            if (onEnd != null) onEnd.run();
-        }
+        if (shouldEnd) finish();
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
 
         // Award score based on survival order (already handled by elimination order)
         List<Player> survivors = arena.getPlayers();
@@ -1,7 +1,7 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
+import com.thelab.plugin.arena.RegionBounds;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
 import com.thelab.plugin.experiment.ExperimentType;
@@ -11,13 +11,16 @@ import org.bukkit.DyeColor;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -26,11 +29,44 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class ElectricFloorExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
-    private Runnable onEnd;
     private final DyeColor[] colors = DyeColor.values();
     private int round = 0;
     private int intervalTicks;
+    private int remaining;
+
+    // Floor layout, built once at start: a color grid over the floor layer and the wool tiles of each color.
+    // Only that layer is ever removed, so wool walls and decoration elsewhere in the arena stay intact.
+    private RegionBounds bounds;
+    private byte[] tileColor;          // 0 = not a tile, otherwise dye ordinal + 1
+    private int[][] tilesByColor;      // dye ordinal -> packed region indices
+    private DyeColor[] floorColors;    // colors actually present on the floor
+    private final boolean[] removed = new boolean[colors.length];
+    private final ArrayDeque<FloorWrite> writes = new ArrayDeque<>();
+
+    /** Block writes applied per tick when removing or restoring color groups. */
+    private static final int WRITES_PER_TICK = 1024;
+
+    private static final Map<Material, DyeColor> WOOL_COLORS = new EnumMap<>(Material.class);
+    private static final Material[] WOOL_BY_COLOR = new Material[DyeColor.values().length];
+    static {
+        for (DyeColor color : DyeColor.values()) {
+            Material wool = Material.valueOf(color.name() + "_WOOL");
+            WOOL_COLORS.put(wool, color);
+            WOOL_BY_COLOR[color.ordinal()] = wool;
+        }
+    }
+
+    /** A color group being set to one material, a slice at a time. */
+    private static final class FloorWrite {
+        final int[] tiles;
+        final Material type;
+        int next;
+
+        FloorWrite(int[] tiles, Material type) {
+            this.tiles = tiles;
+            this.type = type;
+        }
+    }
 
     public ElectricFloorExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
@@ -41,9 +77,9 @@ public class ElectricFloorExperiment extends Experiment {
     public ExperimentType getType() { return ExperimentType.ELECTRIC_FLOOR; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
+        buildLayout();
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.ELECTRIC_FLOOR);
         for (int i = 0; i < players.size(); i++) {
@@ -55,72 +91,159 @@ public class ElectricFloorExperiment extends Experiment {
         }
 
         // Color elimination rounds
-        BukkitTask gameLoop = new BukkitRunnable() {
-            int remaining = config.getDuration() * 20;
-
-            @Override
-            public void run() {
-                if (!running || arena.getPlayers().size() <= 1) {
-                    cancel();
-                    end();
-                    onEnd.run();
-                    return;
-                }
-                if (remaining <= 0) {
-                    cancel();
-                    end();
-                    onEnd.run();
-                    return;
-                }
+        remaining = config.getDuration() * 20;
+        every(1, () -> {
+            if (arena.getPlayers().size() <= 1) {
+                finish();
+                return;
+            }
+
+            // Announce a new safe color every interval (accelerating)
+            if (remaining % Math.max(20, intervalTicks - round * 5) == 0) {
+                restoreFloor();
+                DyeColor safeColor = floorColors[ThreadLocalRandom.current().nextInt(floorColors.length)];
+                arena.broadcastToPlayers("&eSafe color: &f" + safeColor.name().replace("_", " "));
+                MessageUtil.broadcastTitle(arena.getPlayers(),
+                        "&eSafe: &f" + safeColor.name().replace("_", " "), "", 5, 30, 5);
+
+                // After grace period, remove unsafe color blocks and check players
+                int graceTicks = (int)(config.getDouble("grace-period", 1.5) * 20);
+                timers.schedule(graceTicks, () -> {
+                    if (running && eliminateOnUnsafe(safeColor)) removeUnsafe(safeColor);
+                });
+                round++;
+            }
+            applyWrites(WRITES_PER_TICK);
+            remaining--;
+        });
+    }
 
-                // Announce a new safe color every interval (accelerating)
-                if (remaining % Math.max(20, intervalTicks - round * 5) == 0) {
-                    DyeColor safeColor = colors[ThreadLocalRandom.current().nextInt(colors.length)];
-                    arena.broadcastToPlayers("&eSafe color: &f" + safeColor.name().replace("_", " "));
-                    MessageUtil.broadcastTitle(arena.getPlayers(),
-                            "&eSafe: &f" + safeColor.name().replace("_", " "), "", 5, 30, 5);
-
-                    // After grace period, remove unsafe color blocks and check players
-                    int graceTicks = (int)(config.getDouble("grace-period", 1.5) * 20);
-                    BukkitTask checkTask = new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            if (!running) { cancel(); return; }
-                            eliminateOnUnsafe(safeColor);
-                        }
-                    }.runTaskLater(TheLabPlugin.getInstance(), graceTicks);
-                    tasks.add(checkTask);
-                    round++;
+    /** Scans the floor layer once for wool tiles and groups them by color. */
+    private void buildLayout() {
+        Arrays.fill(removed, false);
+        writes.clear();
+        tilesByColor = new int[colors.length][0];
+        floorColors = colors;
+        bounds = floorBounds();
+        if (bounds == null) { tileColor = null; return; }
+
+        tileColor = new byte[bounds.getVolume()];
+        int[] counts = new int[colors.length];
+        World world = bounds.getWorld();
+        for (int x = bounds.getMinX(); x <= bounds.getMaxX(); x++) {
+            for (int y = bounds.getMinY(); y <= bounds.getMaxY(); y++) {
+                for (int z = bounds.getMinZ(); z <= bounds.getMaxZ(); z++) {
+                    DyeColor color = WOOL_COLORS.get(world.getBlockAt(x, y, z).getType());
+                    if (color == null) continue;
+                    tileColor[bounds.index(x, y, z)] = (byte) (color.ordinal() + 1);
+                    counts[color.ordinal()]++;
                 }
-                remaining--;
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 1L);
-        tasks.add(gameLoop);
+        }
+
+        int[] fill = new int[colors.length];
+        List<DyeColor> present = new ArrayList<>();
+        for (DyeColor color : colors) {
+            tilesByColor[color.ordinal()] = new int[counts[color.ordinal()]];
+            if (counts[color.ordinal()] > 0) present.add(color);
+        }
+        for (int i = 0; i < tileColor.length; i++) {
+            int c = tileColor[i] - 1;
+            if (c >= 0) tilesByColor[c][fill[c]++] = i;
+        }
+        if (!present.isEmpty()) floorColors = present.toArray(new DyeColor[0]);
     }
 
-    private void eliminateOnUnsafe(DyeColor safeColor) {
-        // Find the material for the safe color (wool)
-        Material safeMaterial = Material.valueOf(safeColor.name() + "_WOOL");
+    /**
+     * Returns the arena's bounds cut down to the floor layer: the {@code floor-y} setting, or else
+     * the layer under the first Electric Floor spawn. Null if neither is known or it is outside the arena.
+     */
+    private RegionBounds floorBounds() {
+        RegionBounds region = RegionBounds.of(arena.getConfig().getArenaMin(), arena.getConfig().getArenaMax());
+        if (region == null) return null;
+        int floorY = config.getInt("floor-y", Integer.MIN_VALUE);
+        if (floorY == Integer.MIN_VALUE) {
+            List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.ELECTRIC_FLOOR);
+            if (spawns.isEmpty()) return null;
+            floorY = spawns.get(0).getBlockY() - 1;
+        }
+        if (floorY < region.getMinY() || floorY > region.getMaxY()) return null;
+        return new RegionBounds(region.getWorld(), region.getMinX(), floorY, region.getMinZ(),
+                region.getMaxX(), floorY, region.getMaxZ());
+    }
+
+    /** Returns true if the block under the player is a tile of the given color. */
+    private boolean isOnColor(Player p, DyeColor color) {
+        Location loc = p.getLocation();
+        int x = loc.getBlockX(), y = loc.getBlockY() - 1, z = loc.getBlockZ();
+        if (tileColor == null) {
+            return loc.getWorld().getBlockAt(x, y, z).getType() == WOOL_BY_COLOR[color.ordinal()];
+        }
+        return bounds.contains(x, y, z) && tileColor[bounds.index(x, y, z)] == color.ordinal() + 1;
+    }
 
-        for (Player p : new ArrayList<>(arena.getPlayers())) {
-            Block below = p.getLocation().subtract(0, 1, 0).getBlock();
-            if (below.getType() != safeMaterial) {
+    /**
+     * Eliminates every player not standing on the safe color.
+     * @return false if the experiment ended
+     */
+    private boolean eliminateOnUnsafe(DyeColor safeColor) {
+        for (Player p : arena.getPlayers()) {
+            if (!isOnColor(p, safeColor)) {
                 MessageUtil.sendRaw(p, "&cYou were on the wrong color!");
                 boolean shouldEnd = eliminate(p);
                 if (shouldEnd) {
-                    end();
-                    if (onEnd != null) onEnd.run();
-                    return;
+                    finish();
+                    return false;
                 }
             }
         }
+        return true;
+    }
+
+    /** Queues removal of every color group except the safe one. */
+    private void removeUnsafe(DyeColor safeColor) {
+        for (DyeColor color : floorColors) {
+            if (color == safeColor || removed[color.ordinal()]) continue;
+            removed[color.ordinal()] = true;
+            writes.add(new FloorWrite(tilesByColor[color.ordinal()], Material.AIR));
+        }
+    }
+
+    /** Queues every removed color group to be put back. */
+    private void restoreFloor() {
+        for (DyeColor color : floorColors) {
+            if (!removed[color.ordinal()]) continue;
+            removed[color.ordinal()] = false;
+            writes.add(new FloorWrite(tilesByColor[color.ordinal()], WOOL_BY_COLOR[color.ordinal()]));
+        }
+    }
+
+    /** Applies up to {@code budget} queued tile writes, in queue order. */
+    private void applyWrites(int budget) {
+        if (writes.isEmpty() || bounds == null) return;
+        World world = bounds.getWorld();
+        while (budget > 0 && !writes.isEmpty()) {
+            FloorWrite write = writes.peek();
+            // Clamp before adding so an unbounded budget cannot overflow
+            int stop = write.next + Math.min(budget, write.tiles.length - write.next);
+            budget -= stop - write.next;
+            for (; write.next < stop; write.next++) {
+                int index = write.tiles[write.next];
+                Block block = world.getBlockAt(bounds.xOf(index), bounds.yOf(index), bounds.zOf(index));
+                arena.getRegionManager().recordChange(block);
+                block.setType(write.type, false);
+            }
+            if (write.next == write.tiles.length) writes.poll();
+        }
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
+
+        // Put the whole floor back so later experiments start on it
+        restoreFloor();
+        applyWrites(Integer.MAX_VALUE);
 
         List<Player> survivors = arena.getPlayers();
         if (!survivors.isEmpty()) {
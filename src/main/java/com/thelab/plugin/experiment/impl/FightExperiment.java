@@ -1,6 +1,5 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
@@ -13,10 +12,9 @@ import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
+import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
@@ -27,20 +25,21 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class FightExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
     private final List<Item> powerUps = new ArrayList<>();
-    private Runnable onEnd;
 
     public FightExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(PlayerDeathEvent.class, event -> {
+            Player killer = event.getEntity().getKiller();
+            if (killer != null) handleKill(killer, event.getEntity());
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.FIGHT; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.FIGHT);
@@ -59,27 +58,8 @@ public class FightExperiment extends Experiment {
             final Location min = arenaMin;
             final Location max = arenaMax;
             int powerupInterval = config.getInt("powerup-interval", 20) * 20;
-            BukkitTask powerupTask = new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (!running) { cancel(); return; }
-                    spawnPowerUp(min, max);
-                }
-            }.runTaskTimer(TheLabPlugin.getInstance(), powerupInterval, powerupInterval);
-            tasks.add(powerupTask);
+            every(powerupInterval, () -> spawnPowerUp(min, max));
         }
-
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
     }
 
     private void giveKit(Player p) {
@@ -127,25 +107,21 @@ public class FightExperiment extends Experiment {
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.FIGHT);
         if (!spawns.isEmpty()) {
             Location respawn = spawns.get(ThreadLocalRandom.current().nextInt(spawns.size()));
-            new BukkitRunnable() {
-                @Override public void run() {
-                    if (victim.isOnline() && arena.isPlayer(victim)) {
-                        victim.teleport(respawn);
-                        victim.setHealth(20.0);
-                        victim.setFoodLevel(20);
-                        giveKit(victim);
-                        MessageUtil.sendRaw(victim, "&aYou respawned!");
-                    }
+            timers.schedule(respawnDelay, () -> {
+                if (victim.isOnline() && arena.isPlayer(victim)) {
+                    victim.teleport(respawn);
+                    victim.setHealth(20.0);
+                    victim.setFoodLevel(20);
+                    giveKit(victim);
+                    MessageUtil.sendRaw(victim, "&aYou respawned!");
                 }
-            }.runTaskLater(TheLabPlugin.getInstance(), respawnDelay);
+            });
         }
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
         powerUps.forEach(Item::remove);
         powerUps.clear();
     }
@@ -1,19 +1,18 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
 import com.thelab.plugin.experiment.ExperimentType;
+import com.thelab.plugin.experiment.RaceCourse;
 import com.thelab.plugin.game.ScoreManager;
 import com.thelab.plugin.utils.MessageUtil;
 import com.thelab.plugin.utils.SoundUtil;
 import org.bukkit.*;
 import org.bukkit.entity.Pig;
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
@@ -24,26 +23,35 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class PigRacingExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
     private final Map<UUID, Integer> playerLaps = new HashMap<>();
     private final Map<UUID, Pig> playerPigs = new HashMap<>();
     private final Map<UUID, Long> boostCooldown = new HashMap<>();
-    private Runnable onEnd;
+    private final Location sample = new Location(null, 0, 0, 0);
+    private RaceCourse course;
 
     public PigRacingExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(PlayerInteractEvent.class, event -> {
+            if (event.getItem() != null
+                    && event.getItem().getType() == Material.CARROT_ON_A_STICK
+                    && event.getAction().name().startsWith("RIGHT")) {
+                handleBoost(event.getPlayer());
+            }
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.PIG_RACING; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         int totalLaps = config.getInt("laps", 3);
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.PIG_RACING);
+        // The first spawn is the start/finish line, facing the racing direction
+        course = spawns.isEmpty() ? null
+                : new RaceCourse(List.of(spawns.get(0)), config.getDouble("gate-radius", 8.0), true);
 
         for (int i = 0; i < players.size(); i++) {
             Player p = players.get(i);
@@ -62,22 +70,26 @@ public class PigRacingExperiment extends Experiment {
                 });
                 pig.addPassenger(p);
                 playerPigs.put(p.getUniqueId(), pig);
+                if (course != null) course.addRacer(p.getUniqueId(), loc.getX(), loc.getY(), loc.getZ(), 0);
             }
             MessageUtil.sendRaw(p, "&ePig Racing! Complete " + totalLaps + " laps first!");
             MessageUtil.sendRaw(p, "&7Right-click to boost your pig!");
         }
 
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        // Lap detection: riders do not fire move events, so sample each pig once per tick
+        if (course != null) {
+            every(1, () -> {
+                for (Player p : arena.getPlayers()) {
+                    Pig pig = playerPigs.get(p.getUniqueId());
+                    if (pig == null || !pig.isValid()) continue;
+                    pig.getLocation(sample);
+                    if (course.advance(p.getUniqueId(), sample.getX(), sample.getY(), sample.getZ()) >= 0) {
+                        handleLapComplete(p);
+                        if (!running) return;
+                    }
+                }
+            });
+        }
     }
 
     /** Called when a player uses carrot on a stick (boost). */
@@ -99,7 +111,7 @@ public class PigRacingExperiment extends Experiment {
         MessageUtil.sendRaw(player, "&aBoost!");
     }
 
-    /** Called when a player crosses a checkpoint (lap). */
+    /** Called when a player's pig crosses the finish line (lap). */
     public void handleLapComplete(Player player) {
         if (!running || !arena.isPlayer(player)) return;
         int totalLaps = config.getInt("laps", 3);
@@ -110,20 +122,18 @@ public class PigRacingExperiment extends Experiment {
             scoreManager.addScore(player.getUniqueId(), 10);
             arena.broadcastToPlayers("&6" + player.getName() + " &6finished the race!");
             SoundUtil.playScore(player);
-            end();
-            if (onEnd != null) onEnd.run();
+            finish();
         }
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
         for (Pig pig : playerPigs.values()) {
             if (pig.isValid()) pig.remove();
         }
         playerPigs.clear();
+        if (course != null) course.clear();
         // Score remaining players by laps completed
         playerLaps.entrySet().stream()
                 .sorted(Map.Entry.<UUID, Integer>comparingByValue().reversed())
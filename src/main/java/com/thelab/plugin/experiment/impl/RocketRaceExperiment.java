@@ -1,18 +1,17 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
 import com.thelab.plugin.experiment.ExperimentType;
+import com.thelab.plugin.experiment.RaceCourse;
 import com.thelab.plugin.game.ScoreManager;
 import com.thelab.plugin.utils.MessageUtil;
 import com.thelab.plugin.utils.SoundUtil;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
@@ -23,24 +22,32 @@ import java.util.*;
  */
 public class RocketRaceExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
     private final Map<UUID, Integer> playerCheckpoints = new HashMap<>();
     private List<Location> checkpoints;
-    private Runnable onEnd;
+    private RaceCourse course;
 
     public RocketRaceExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(PlayerMoveEvent.class, event -> {
+            if (!running || course == null) return;
+            Location to = event.getTo();
+            int gate = course.advance(event.getPlayer().getUniqueId(), to.getX(), to.getY(), to.getZ());
+            if (gate >= 0) passCheckpoint(event.getPlayer(), gate);
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.ROCKET_RACE; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         checkpoints = arena.getConfig().getSpawnsFor(ExperimentType.ROCKET_RACE);
+        // Racers start on the first checkpoint and fly through the rest in order; gates face along
+        // the course rather than the yaw each checkpoint happened to be saved with
+        course = RaceCourse.alongPath(checkpoints, config.getDouble("gate-radius", 5.0), false);
+        int firstGate = Math.min(1, checkpoints.size());
         List<Location> spawns = checkpoints.isEmpty()
                 ? (players.isEmpty() ? new ArrayList<>() : List.of(players.get(0).getLocation()))
                 : List.of(checkpoints.get(0));
@@ -49,46 +56,21 @@ public class RocketRaceExperiment extends Experiment {
             Player p = players.get(i);
             if (!spawns.isEmpty()) p.teleport(spawns.get(0));
             giveKit(p);
-            playerCheckpoints.put(p.getUniqueId(), 0);
+            Location at = p.getLocation();
+            course.addRacer(p.getUniqueId(), at.getX(), at.getY(), at.getZ(), firstGate);
+            playerCheckpoints.put(p.getUniqueId(), firstGate);
             MessageUtil.sendRaw(p, "&eRocket Race! Fly through &a" + checkpoints.size() + "&e checkpoints!");
         }
 
-        // Checkpoint detection
-        BukkitTask checkTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                checkCheckpoints();
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 5L, 5L);
-        tasks.add(checkTask);
-
         // Replenish rockets
-        BukkitTask rocketTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                for (Player p : arena.getPlayers()) {
-                    ItemStack rockets = p.getInventory().getItem(1);
-                    if (rockets == null || rockets.getType() != Material.FIREWORK_ROCKET || rockets.getAmount() < 8) {
-                        p.getInventory().setItem(1, new ItemStack(Material.FIREWORK_ROCKET, 16));
-                    }
+        every(40, () -> {
+            for (Player p : arena.getPlayers()) {
+                ItemStack rockets = p.getInventory().getItem(1);
+                if (rockets == null || rockets.getType() != Material.FIREWORK_ROCKET || rockets.getAmount() < 8) {
+                    p.getInventory().setItem(1, new ItemStack(Material.FIREWORK_ROCKET, 16));
                 }
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 40L, 40L);
-        tasks.add(rocketTask);
-
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        });
     }
 
     private void giveKit(Player p) {
@@ -99,34 +81,25 @@ public class RocketRaceExperiment extends Experiment {
         p.setAllowFlight(false);
     }
 
-    private void checkCheckpoints() {
-        if (checkpoints.isEmpty()) return;
-        for (Player p : arena.getPlayers()) {
-            int next = playerCheckpoints.getOrDefault(p.getUniqueId(), 0);
-            if (next >= checkpoints.size()) continue;
-            Location cp = checkpoints.get(next);
-            if (p.getLocation().distance(cp) < 5.0) {
-                playerCheckpoints.put(p.getUniqueId(), next + 1);
-                int progress = next + 1;
-                MessageUtil.sendRaw(p, "&aCheckpoint " + progress + "/" + checkpoints.size() + "!");
-                SoundUtil.playScore(p);
-                if (progress >= checkpoints.size()) {
-                    // Finished!
-                    scoreManager.addScore(p.getUniqueId(), 10);
-                    arena.broadcastToPlayers("&6" + p.getName() + " &6finished the race!");
-                    end();
-                    if (onEnd != null) onEnd.run();
-                    return;
-                }
-            }
+    /** Called when a player flies through their next checkpoint gate. */
+    private void passCheckpoint(Player p, int gate) {
+        if (!arena.isPlayer(p)) return;
+        int progress = gate + 1;
+        playerCheckpoints.put(p.getUniqueId(), progress);
+        MessageUtil.sendRaw(p, "&aCheckpoint " + progress + "/" + checkpoints.size() + "!");
+        SoundUtil.playScore(p);
+        if (progress >= checkpoints.size()) {
+            // Finished!
+            scoreManager.addScore(p.getUniqueId(), 10);
+            arena.broadcastToPlayers("&6" + p.getName() + " &6finished the race!");
+            finish();
         }
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
+        if (course != null) course.clear();
         // Score players by checkpoint progress
         playerCheckpoints.entrySet().stream()
                 .sorted(Map.Entry.<UUID, Integer>comparingByValue().reversed())
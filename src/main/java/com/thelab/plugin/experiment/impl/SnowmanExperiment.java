@@ -1,6 +1,5 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
@@ -10,12 +9,12 @@ import com.thelab.plugin.utils.MessageUtil;
 import com.thelab.plugin.utils.SoundUtil;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Snowball;
+import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.LeatherArmorMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
@@ -26,20 +25,25 @@ import java.util.*;
  */
 public class SnowmanExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
     private final Map<UUID, Long> frozenUntil = new HashMap<>();
-    private Runnable onEnd;
 
     public SnowmanExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(ProjectileHitEvent.class, event -> {
+            if (event.getEntity() instanceof Snowball
+                    && event.getEntity().getShooter() instanceof Player thrower
+                    && event.getHitEntity() instanceof Player victim
+                    && victim != thrower) {
+                handleSnowballHit(victim, thrower);
+            }
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.SNOWMAN; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.SNOWMAN);
@@ -54,43 +58,26 @@ public class SnowmanExperiment extends Experiment {
         int unfrezeRadius = config.getInt("unfreeze-radius", 2);
 
         // Freeze check loop
-        BukkitTask freezeLoop = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                long now = System.currentTimeMillis();
-                // Unfreeze expired players
-                for (Player p : arena.getPlayers()) {
-                    Long until = frozenUntil.get(p.getUniqueId());
-                    if (until != null && now > until) {
-                        frozenUntil.remove(p.getUniqueId());
-                        p.removePotionEffect(PotionEffectType.SLOWNESS);
-                        MessageUtil.sendRaw(p, "&aYou have thawed!");
-                    }
-                }
-                // Replenish snowballs
-                for (Player p : arena.getPlayers()) {
-                    if (frozenUntil.containsKey(p.getUniqueId())) continue;
-                    ItemStack balls = p.getInventory().getItem(0);
-                    if (balls == null || balls.getType() != Material.SNOWBALL || balls.getAmount() < 8) {
-                        p.getInventory().setItem(0, new ItemStack(Material.SNOWBALL, 16));
-                    }
+        every(10, () -> {
+            long now = System.currentTimeMillis();
+            // Unfreeze expired players
+            for (Player p : arena.getPlayers()) {
+                Long until = frozenUntil.get(p.getUniqueId());
+                if (until != null && now > until) {
+                    frozenUntil.remove(p.getUniqueId());
+                    p.removePotionEffect(PotionEffectType.SLOWNESS);
+                    MessageUtil.sendRaw(p, "&aYou have thawed!");
                 }
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 10L, 10L);
-        tasks.add(freezeLoop);
-
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
+            // Replenish snowballs
+            for (Player p : arena.getPlayers()) {
+                if (frozenUntil.containsKey(p.getUniqueId())) continue;
+                ItemStack balls = p.getInventory().getItem(0);
+                if (balls == null || balls.getType() != Material.SNOWBALL || balls.getAmount() < 8) {
+                    p.getInventory().setItem(0, new ItemStack(Material.SNOWBALL, 16));
+                }
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        });
     }
 
     private void giveKit(Player p) {
@@ -131,10 +118,8 @@ public class SnowmanExperiment extends Experiment {
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
         frozenUntil.clear();
     }
 }
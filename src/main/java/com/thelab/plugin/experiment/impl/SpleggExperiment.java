@@ -1,6 +1,5 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
@@ -11,11 +10,10 @@ import com.thelab.plugin.utils.SoundUtil;
 import org.bukkit.*;
 import org.bukkit.entity.Egg;
 import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,19 +22,25 @@ import java.util.List;
  */
 public class SpleggExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
-    private Runnable onEnd;
-
     public SpleggExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(PlayerInteractEvent.class, event -> {
+            if (event.getItem() != null
+                    && event.getItem().getType() == Material.IRON_SHOVEL
+                    && event.getAction().name().startsWith("RIGHT")) {
+                event.setCancelled(true);
+                handleShoot(event.getPlayer());
+            }
+        });
+        // Digging the floor by hand is part of the game
+        handle(BlockBreakEvent.class, event -> {});
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.SPLEGG; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.SPLEGG);
@@ -53,35 +57,22 @@ public class SpleggExperiment extends Experiment {
         Location arenaMin = arena.getConfig().getArenaMin();
         int floorY = arenaMin != null ? arenaMin.getBlockY() - 5 : -64;
 
-        BukkitTask fallCheck = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                for (Player p : new ArrayList<>(arena.getPlayers())) {
-                    if (p.getLocation().getY() < floorY) {
-                        SoundUtil.playElimination(p);
-                        MessageUtil.sendRaw(p, "&cYou fell out!");
-                        arena.broadcast("&e" + p.getName() + " &cfell out!");
-                        boolean end = eliminate(p);
-                        if (end) { cancel(); end(); onEnd.run(); return; }
-                    }
+        every(10, () -> {
+            for (Player p : arena.getPlayers()) {
+                if (p.getLocation().getY() < floorY) {
+                    SoundUtil.playElimination(p);
+                    MessageUtil.sendRaw(p, "&cYou fell out!");
+                    arena.broadcast("&e" + p.getName() + " &cfell out!");
+                    boolean end = eliminate(p);
+                    if (end) { finish(); return; }
                 }
             }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 10L, 10L);
-        tasks.add(fallCheck);
+        });
 
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                if (arena.getPlayers().size() <= 1) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        // Last player standing
+        every(20, () -> {
+            if (arena.getPlayers().size() <= 1) finish();
+        });
     }
 
     /** Called when a player right-clicks with the shovel — shoots an egg. */
@@ -91,10 +82,8 @@ public class SpleggExperiment extends Experiment {
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
         List<Player> survivors = arena.getPlayers();
         if (!survivors.isEmpty()) {
             scoreManager.addScore(survivors.get(0).getUniqueId(), 3);
@@ -1,6 +1,5 @@
 package com.thelab.plugin.experiment.impl;
 
-import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.experiment.Experiment;
 import com.thelab.plugin.experiment.ExperimentConfig;
@@ -10,9 +9,8 @@ import com.thelab.plugin.utils.MessageUtil;
 import com.thelab.plugin.utils.SoundUtil;
 import org.bukkit.*;
 import org.bukkit.entity.*;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
@@ -23,9 +21,7 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class WhackAMobExperiment extends Experiment {
 
-    private final List<BukkitTask> tasks = new ArrayList<>();
     private final Map<UUID, Integer> activeMobs = new HashMap<>();
-    private Runnable onEnd;
 
     // Mob type -> point value (negative = penalty)
     private static final Map<EntityType, Integer> MOB_POINTS = new EnumMap<>(EntityType.class);
@@ -43,14 +39,19 @@ public class WhackAMobExperiment extends Experiment {
 
     public WhackAMobExperiment(Arena arena, ExperimentConfig config, ScoreManager scoreManager) {
         super(arena, config, scoreManager);
+        handle(EntityDamageByEntityEvent.class, event -> {
+            if (event.getDamager() instanceof Player attacker && !(event.getEntity() instanceof Player)) {
+                event.setCancelled(true);
+                handleMobHit(attacker, event.getEntity());
+            }
+        });
     }
 
     @Override
     public ExperimentType getType() { return ExperimentType.WHACK_A_MOB; }
 
     @Override
-    public void start(List<Player> players, Runnable onEnd) {
-        this.onEnd = onEnd;
+    protected void start(List<Player> players) {
         this.running = true;
 
         List<Location> spawns = arena.getConfig().getSpawnsFor(ExperimentType.WHACK_A_MOB);
@@ -68,47 +69,26 @@ public class WhackAMobExperiment extends Experiment {
         int stayMin = config.getInt("mob-stay-min", 3) * 20;
         int stayMax = config.getInt("mob-stay-max", 5) * 20;
 
-        BukkitTask spawnTask = new BukkitRunnable() {
-            int tick = 0;
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                tick++;
-                if (padSpawns.isEmpty()) return;
-                // Spawn mob at random pad
-                Location pad = padSpawns.get(ThreadLocalRandom.current().nextInt(padSpawns.size()));
-                if (pad.getWorld() == null) return;
-                EntityType type = MOB_TYPES[ThreadLocalRandom.current().nextInt(MOB_TYPES.length)];
-                Entity mob = pad.getWorld().spawnEntity(pad, type);
-                mob.setPersistent(false);
-                ((LivingEntity) mob).setAI(false);
-                activeMobs.put(mob.getUniqueId(), MOB_POINTS.getOrDefault(type, 1));
-
-                // Despawn after stay time
-                int stay = stayMin + ThreadLocalRandom.current().nextInt(stayMax - stayMin + 1);
-                new BukkitRunnable() {
-                    @Override public void run() {
-                        if (mob.isValid()) {
-                            mob.remove();
-                            activeMobs.remove(mob.getUniqueId());
-                        }
-                    }
-                }.runTaskLater(TheLabPlugin.getInstance(), stay);
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 30L);
-        tasks.add(spawnTask);
-
-        // Timer
-        BukkitTask timer = new BukkitRunnable() {
-            int remaining = config.getDuration();
-            @Override
-            public void run() {
-                if (!running) { cancel(); return; }
-                if (remaining <= 0) { cancel(); end(); onEnd.run(); return; }
-                remaining--;
-            }
-        }.runTaskTimer(TheLabPlugin.getInstance(), 20L, 20L);
-        tasks.add(timer);
+        every(30, () -> {
+            if (padSpawns.isEmpty()) return;
+            // Spawn mob at random pad
+            Location pad = padSpawns.get(ThreadLocalRandom.current().nextInt(padSpawns.size()));
+            if (pad.getWorld() == null) return;
+            EntityType type = MOB_TYPES[ThreadLocalRandom.current().nextInt(MOB_TYPES.length)];
+            Entity mob = pad.getWorld().spawnEntity(pad, type);
+            mob.setPersistent(false);
+            ((LivingEntity) mob).setAI(false);
+            activeMobs.put(mob.getUniqueId(), MOB_POINTS.getOrDefault(type, 1));
+
+            // Despawn after stay time
+            int stay = stayMin + ThreadLocalRandom.current().nextInt(stayMax - stayMin + 1);
+            timers.schedule(stay, () -> {
+                if (mob.isValid()) {
+                    mob.remove();
+                    activeMobs.remove(mob.getUniqueId());
+                }
+            });
+        });
     }
 
     private void giveKit(Player p) {
@@ -145,10 +125,8 @@ public class WhackAMobExperiment extends Experiment {
     }
 
     @Override
-    public void end() {
+    protected void end() {
         running = false;
-        tasks.forEach(t -> { try { t.cancel(); } catch (Exception ignored) {} });
-        tasks.clear();
         for (UUID uid : activeMobs.keySet()) {
             Entity e = Bukkit.getEntity(uid);
             if (e != null) e.remove();
@@ -9,6 +9,12 @@ public class ExperimentRotation {
 
     private List<ExperimentType> selectedExperiments = new ArrayList<>();
     private int currentIndex = -1;
+    private Runnable changeListener = () -> {};
+
+    /** Sets the callback run when the selection or the current round changes. */
+    public void setChangeListener(Runnable listener) {
+        this.changeListener = listener;
+    }
 
     /**
      * Randomly selects {@code count} unique experiments from the pool.
@@ -22,11 +28,13 @@ public class ExperimentRotation {
         int num = Math.min(count, shuffled.size());
         selectedExperiments = shuffled.subList(0, num);
         selectedExperiments = new ArrayList<>(selectedExperiments);
+        changeListener.run();
     }
 
     /** Advances to the next experiment. Returns true if there is a next one. */
     public boolean advance() {
         currentIndex++;
+        changeListener.run();
         return currentIndex < selectedExperiments.size();
     }
 
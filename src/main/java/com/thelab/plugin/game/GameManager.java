@@ -5,6 +5,7 @@ import com.thelab.plugin.arena.Arena;
 import com.thelab.plugin.arena.ArenaResetHandler;
 import com.thelab.plugin.arena.ArenaState;
 import com.thelab.plugin.experiment.Experiment;
+import com.thelab.plugin.experiment.ExperimentEventDispatcher;
 import com.thelab.plugin.experiment.ExperimentRegistry;
 import com.thelab.plugin.experiment.ExperimentType;
 import com.thelab.plugin.player.LabPlayer;
@@ -17,12 +18,16 @@ import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.logging.Level;
 
-/** Central game orchestrator for TheLab arenas. */
+/**
+ * Central game orchestrator for TheLab arenas.
+ * Every running game is a {@link GameSession}; a single repeating task ticks all of them
+ * while any exists, so each arena's per-tick cost is measured in one place.
+ */
 public class GameManager {
 
     private final TheLabPlugin plugin;
@@ -32,81 +37,142 @@ public class GameManager {
     // Per-arena state
     private final Map<String, ScoreManager> scoreManagers = new HashMap<>();
     private final Map<String, ExperimentRotation> rotations = new HashMap<>();
-    private final Map<String, Experiment> activeExperiments = new HashMap<>();
-    private final Map<String, BukkitTask> countdownTasks = new HashMap<>();
-    private final Map<String, GameTimer> gameTimers = new HashMap<>();
+    private final Map<String, GameSession> sessions = new LinkedHashMap<>();
+    private final ExperimentEventDispatcher eventDispatcher = new ExperimentEventDispatcher();
+    private final Set<String> capturing = new HashSet<>();
+    private final List<GameSession> ticking = new ArrayList<>();
+    private BukkitTask driver;
 
     public GameManager(TheLabPlugin plugin) {
         this.plugin = plugin;
         this.experimentRegistry = new ExperimentRegistry(plugin);
     }
 
+    // ---- Sessions ----
+
+    private GameSession openSession(Arena arena) {
+        GameSession session = sessions.computeIfAbsent(arena.getId(), id -> new GameSession(arena));
+        if (driver == null) {
+            driver = Bukkit.getScheduler().runTaskTimer(plugin, this::tickSessions, 1L, 1L);
+        }
+        return session;
+    }
+
+    private void closeSession(Arena arena) {
+        GameSession session = sessions.remove(arena.getId());
+        if (session != null) session.close();
+    }
+
+    private void tickSessions() {
+        // Phase actions may open or close sessions, so tick a copy
+        ticking.addAll(sessions.values());
+        for (GameSession session : ticking) {
+            try {
+                session.tick();
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Game tick failed in arena " + session.getArena().getId(), e);
+            }
+        }
+        ticking.clear();
+        if (sessions.isEmpty() && driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+    }
+
+    /** Gets the running game session of an arena. */
+    public Optional<GameSession> getSession(Arena arena) {
+        return Optional.ofNullable(sessions.get(arena.getId()));
+    }
+
     // ---- Game start ----
 
     /** Starts the countdown for an arena. */
     public void startCountdown(Arena arena) {
-        arena.setState(ArenaState.STARTING);
         int seconds = plugin.getConfigManager().getLobbyCountdownSeconds();
-
-        BukkitTask task = new BukkitRunnable() {
-            int remaining = seconds;
-
-            @Override
-            public void run() {
-                if (!arena.getState().equals(ArenaState.STARTING)) {
-                    cancel();
-                    return;
-                }
-                if (arena.getPlayerCount() < arena.getMinPlayers()) {
-                    cancel();
-                    cancelCountdown(arena);
-                    return;
-                }
-                if (remaining <= 0) {
-                    cancel();
-                    startGame(arena);
-                    return;
-                }
-                if (remaining <= 10 || remaining % 10 == 0) {
-                    String msg = plugin.getConfigManager().getMessage("game.countdown-title",
-                            "seconds", String.valueOf(remaining));
-                    arena.broadcastTitle("&e" + remaining, "&fGame starting!", 5, 25, 5);
-                    arena.broadcast("&eGame starting in &6" + remaining + " &eseconds!");
-                }
-                if (remaining <= 5) {
-                    for (Player p : arena.getPlayers()) SoundUtil.playCountdownTick(p);
-                } else if (remaining == 1) {
-                    for (Player p : arena.getPlayers()) SoundUtil.playCountdownFinal(p);
-                }
-                remaining--;
+        openSession(arena).enter(GamePhase.STARTING, seconds * 20, remaining -> {
+            if (arena.getPlayerCount() < arena.getMinPlayers()) {
+                cancelCountdown(arena);
+                return;
+            }
+            if (remaining <= 10 || remaining % 10 == 0) {
+                arena.broadcastTitle("&e" + remaining, "&fGame starting!", 5, 25, 5);
+                arena.broadcast("&eGame starting in &6" + remaining + " &eseconds!");
             }
-        }.runTaskTimer(plugin, 0L, 20L);
-        countdownTasks.put(arena.getId(), task);
+            if (remaining <= 5) {
+                for (Player p : arena.getPlayers()) SoundUtil.playCountdownTick(p);
+            } else if (remaining == 1) {
+                for (Player p : arena.getPlayers()) SoundUtil.playCountdownFinal(p);
+            }
+        }, () -> {
+            if (arena.getPlayerCount() < arena.getMinPlayers()) cancelCountdown(arena);
+            else startGame(arena);
+        });
     }
 
     /** Cancels the countdown and returns arena to WAITING. */
     public void cancelCountdown(Arena arena) {
-        BukkitTask task = countdownTasks.remove(arena.getId());
-        if (task != null) task.cancel();
+        closeSession(arena);
         arena.setState(ArenaState.WAITING);
         arena.broadcast(plugin.getConfigManager().getMessage("arena.cancelled"));
     }
 
-    /** Starts a game in the arena (called after countdown ends). */
+    /**
+     * Starts a game in the arena (called after countdown ends).
+     * The region snapshot is loaded or captured off the main thread first; the game begins once it is ready.
+     */
     public void startGame(Arena arena) {
-        countdownTasks.remove(arena.getId());
-
-        // Save region
-        if (arena.getConfig().getArenaMin() != null) {
-            arena.getRegionManager().saveRegion();
+        // Holds the arena in STARTING, replacing any countdown still running
+        openSession(arena).enter(GamePhase.STARTING, -1, null);
+        if (arena.getConfig().getArenaMin() == null) {
+            beginGame(arena);
+            return;
         }
+        if (!capturing.add(arena.getId())) return;
+
+        arena.getRegionManager().prepareRegion(plugin.getWorkerPool()).whenComplete((snapshot, error) -> {
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                capturing.remove(arena.getId());
+                if (error != null) {
+                    plugin.getLogger().log(Level.WARNING, "Failed to capture region of arena " + arena.getId(), error);
+                    arena.getRegionManager().abandonPreparation();
+                    cancelCountdown(arena);
+                    return;
+                }
+                // Players may have left or the arena been disabled while the capture ran
+                if (arena.getState() != ArenaState.STARTING || arena.isEmpty()) {
+                    arena.getRegionManager().abandonPreparation();
+                    closeSession(arena);
+                    return;
+                }
+                if (arena.getRegionManager().needsRepair()) {
+                    arena.broadcast("&eRestoring the arena before the game starts...");
+                    arena.getRegionManager().repairRegion(() -> {
+                        if (arena.getState() == ArenaState.STARTING && !arena.isEmpty()) {
+                            beginGame(arena);
+                        } else {
+                            arena.getRegionManager().abandonPreparation();
+                            closeSession(arena);
+                        }
+                    });
+                    return;
+                }
+                beginGame(arena);
+            });
+        });
+    }
 
+    /** Sets up scores and rotation and starts the first experiment. */
+    private void beginGame(Arena arena) {
         // Setup score manager and rotation
         ScoreManager scores = new ScoreManager();
+        scores.setChangeListener(() -> plugin.getScoreboardManager().markDirty(arena));
         for (Player p : arena.getPlayers()) scores.registerPlayer(p.getUniqueId());
         scoreManagers.put(arena.getId(), scores);
 
         ExperimentRotation rotation = new ExperimentRotation();
+        rotation.setChangeListener(() -> plugin.getScoreboardManager().markDirty(arena));
         List<ExperimentType> pool = arena.getConfig().getEnabledExperiments();
         int count = plugin.getConfigManager().getExperimentsPerGame();
         rotation.selectExperiments(pool, count);
@@ -136,7 +202,6 @@ public class GameManager {
         int round = rotation.getRound();
         int totalRounds = rotation.getTotalRounds();
 
-        arena.setState(ArenaState.EXPERIMENT_INTRO);
         // Reset spectators back to players for new experiment (if desired)
         // For simplicity, keep eliminated players as spectators
 
@@ -157,33 +222,45 @@ public class GameManager {
 
         // After intro timer, start experiment
         int introSecs = plugin.getConfigManager().getExperimentIntroSeconds();
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!arena.getState().equals(ArenaState.EXPERIMENT_INTRO)) return;
-                // Unfreeze
-                for (Player p : arena.getPlayers()) p.setWalkSpeed(0.2f);
-                arena.setState(ArenaState.EXPERIMENT_PLAY);
-                scores.resetExperimentScores();
-
-                // Create and start experiment
-                Experiment exp = experimentRegistry.create(type, arena, scores);
-                activeExperiments.put(arena.getId(), exp);
-                for (Player p : arena.getPlayers()) {
-                    SoundUtil.play(p, Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 1.0f);
-                }
-                exp.start(arena.getPlayers(), () -> {
-                    // Called when experiment ends
-                    activeExperiments.remove(arena.getId());
-                    endExperiment(arena, type);
-                });
-            }
-        }.runTaskLater(plugin, introSecs * 20L);
+        GameSession session = openSession(arena);
+        session.enter(GamePhase.EXPERIMENT_INTRO, introSecs * 20, () -> startExperiment(session, type, scores));
+    }
+
+    /** Starts an experiment and plays it until it finishes or its duration is up. */
+    private void startExperiment(GameSession session, ExperimentType type, ScoreManager scores) {
+        Arena arena = session.getArena();
+        // Unfreeze
+        for (Player p : arena.getPlayers()) p.setWalkSpeed(0.2f);
+        scores.resetExperimentScores();
+
+        // Create and start experiment
+        Experiment exp = experimentRegistry.create(type, arena, scores);
+        session.setExperiment(exp);
+        session.enter(GamePhase.EXPERIMENT_PLAY, exp.getDuration() * 20, exp::timeUp);
+        eventDispatcher.register(arena, exp);
+        for (Player p : arena.getPlayers()) {
+            SoundUtil.play(p, Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 1.0f);
+        }
+        exp.begin(arena.getPlayers(), () -> {
+            // Called when experiment ends
+            session.setExperiment(null);
+            eventDispatcher.unregister(arena);
+            endExperiment(arena, type);
+        });
     }
 
     /** Ends the current experiment and shows results. */
     private void endExperiment(Arena arena, ExperimentType type) {
-        arena.setState(ArenaState.EXPERIMENT_RESULTS);
+        // Wait then start next experiment
+        int resultSecs = plugin.getConfigManager().getExperimentResultsSeconds();
+        openSession(arena).enter(GamePhase.EXPERIMENT_RESULTS, resultSecs * 20, () -> {
+            ExperimentRotation rotation = rotations.get(arena.getId());
+            if (rotation != null && rotation.hasMore()) {
+                startNextExperiment(arena);
+            } else {
+                endGame(arena);
+            }
+        });
 
         ScoreManager scores = scoreManagers.get(arena.getId());
         if (scores != null) {
@@ -219,25 +296,13 @@ public class GameManager {
                 if (scores != null) scores.registerPlayer(uuid);
             }
         }
-
-        // Wait then start next experiment
-        int resultSecs = plugin.getConfigManager().getExperimentResultsSeconds();
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                ExperimentRotation rotation = rotations.get(arena.getId());
-                if (rotation != null && rotation.hasMore()) {
-                    startNextExperiment(arena);
-                } else {
-                    endGame(arena);
-                }
-            }
-        }.runTaskLater(plugin, resultSecs * 20L);
     }
 
     /** Ends the entire game and shows final results. */
     public void endGame(Arena arena) {
-        arena.setState(ArenaState.GAME_END);
+        // After delay, restore players and reset arena
+        int delaySecs = plugin.getConfigManager().getGameEndDisplaySeconds();
+        openSession(arena).enter(GamePhase.GAME_END, delaySecs * 20, () -> resetArena(arena));
 
         ScoreManager scores = scoreManagers.get(arena.getId());
         WinnerCalculator calc = new WinnerCalculator();
@@ -272,18 +337,13 @@ public class GameManager {
             plugin.getStatsManager().recordGameEnd(arena, scores, winnerUUID);
         }
 
-        // After delay, restore players and reset arena
-        int delaySecs = plugin.getConfigManager().getGameEndDisplaySeconds();
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                resetArena(arena);
-            }
-        }.runTaskLater(plugin, delaySecs * 20L);
     }
 
     /** Resets arena and restores all players. */
     public void resetArena(Arena arena) {
+        GameSession session = sessions.get(arena.getId());
+        Experiment exp = session != null ? session.getExperiment() : null;
+        closeSession(arena);
         arena.setState(ArenaState.RESETTING);
 
         // Restore all players
@@ -295,12 +355,19 @@ public class GameManager {
         // Clean up game state
         scoreManagers.remove(arena.getId());
         rotations.remove(arena.getId());
-        Experiment exp = activeExperiments.remove(arena.getId());
-        if (exp != null) exp.end();
+        eventDispatcher.unregister(arena);
+        if (exp != null) exp.stop();
 
         // Reset arena region
         resetHandler.reset(arena, () -> {
             arena.setState(ArenaState.WAITING);
+            // Let in the players who tried to join during the reset
+            for (UUID uuid : plugin.getArenaManager().drainResetQueue(arena)) {
+                Player queued = Bukkit.getPlayer(uuid);
+                if (queued != null && plugin.getArenaManager().getPlayerArena(queued) == null) {
+                    plugin.getArenaJoinHandler().joinArena(queued, arena);
+                }
+            }
         });
     }
 
@@ -350,25 +417,32 @@ public class GameManager {
 
     /** Gets the active Experiment for an arena. */
     public Optional<Experiment> getActiveExperiment(Arena arena) {
-        return Optional.ofNullable(activeExperiments.get(arena.getId()));
+        GameSession session = sessions.get(arena.getId());
+        return Optional.ofNullable(session != null ? session.getExperiment() : null);
+    }
+
+    /** Gets the dispatcher that routes gameplay events to running experiments. */
+    public ExperimentEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
     }
 
     /** Force-starts an arena. */
     public void forceStart(Arena arena) {
-        BukkitTask existing = countdownTasks.remove(arena.getId());
-        if (existing != null) existing.cancel();
         startGame(arena);
     }
 
     /** Cleanup all active games (on plugin disable). */
     public void shutdownAll() {
-        for (Map.Entry<String, Experiment> entry : activeExperiments.entrySet()) {
-            try { entry.getValue().end(); } catch (Exception ignored) {}
-        }
-        activeExperiments.clear();
-        for (BukkitTask task : countdownTasks.values()) {
-            try { task.cancel(); } catch (Exception ignored) {}
+        for (GameSession session : sessions.values()) {
+            Experiment exp = session.getExperiment();
+            session.close();
+            if (exp != null) {
+                try { exp.stop(); } catch (Exception ignored) {}
+            }
         }
-        countdownTasks.clear();
+        sessions.clear();
+        eventDispatcher.clear();
+        if (driver != null) driver.cancel();
+        driver = null;
     }
 }
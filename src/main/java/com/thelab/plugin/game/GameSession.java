@@ -0,0 +1,111 @@
+package com.thelab.plugin.game;
+
+import com.thelab.plugin.arena.Arena;
+import com.thelab.plugin.arena.ArenaState;
+import com.thelab.plugin.experiment.Experiment;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Phase machine for one running game, advanced once per tick by the {@link GameManager}.
+ * Each phase has an optional length in ticks and an action to run when it expires; entering
+ * a new phase replaces the pending one, so a phase that was left early can never fire late.
+ * While in {@link GamePhase#EXPERIMENT_PLAY} the current experiment is ticked as well.
+ */
+public class GameSession {
+
+    private static final double COST_SMOOTHING = 0.05;
+
+    private final Arena arena;
+    private GamePhase phase = GamePhase.WAITING;
+    private int phaseTicks;
+    private int phaseLength = -1;
+    private IntConsumer onSecond;
+    private Runnable onExpire;
+    private int generation;
+    private Experiment experiment;
+    private boolean closed;
+
+    private long lastTickNanos;
+    private double averageTickNanos;
+
+    public GameSession(Arena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Enters a phase and mirrors it onto the arena state.
+     * @param lengthTicks ticks until {@code onExpire} runs, or -1 to stay until the next phase is entered
+     */
+    public void enter(GamePhase phase, int lengthTicks, Runnable onExpire) {
+        enter(phase, lengthTicks, null, onExpire);
+    }
+
+    /**
+     * Enters a timed phase that also reports the seconds left: once on entry and then every second
+     * until it expires.
+     */
+    public void enter(GamePhase phase, int lengthTicks, IntConsumer onSecond, Runnable onExpire) {
+        this.phase = phase;
+        this.phaseTicks = 0;
+        this.phaseLength = lengthTicks;
+        this.onSecond = onSecond;
+        this.onExpire = onExpire;
+        generation++;
+        arena.setState(ArenaState.valueOf(phase.name()));
+        if (onSecond != null && lengthTicks > 0) onSecond.accept((lengthTicks + 19) / 20);
+    }
+
+    /** Advances the session by one tick. */
+    void tick() {
+        if (closed) return;
+        long start = System.nanoTime();
+        int entered = generation;
+        phaseTicks++;
+
+        if (onSecond != null && phaseTicks % 20 == 0 && phaseTicks < phaseLength) {
+            onSecond.accept((phaseLength - phaseTicks + 19) / 20);
+        }
+        if (entered == generation && !closed && phase == GamePhase.EXPERIMENT_PLAY && experiment != null) {
+            experiment.tick(phaseTicks);
+        }
+        if (entered == generation && !closed && phaseLength >= 0 && phaseTicks >= phaseLength) {
+            Runnable action = onExpire;
+            onExpire = null;
+            phaseLength = -1;
+            if (action != null) action.run();
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+        averageTickNanos += (lastTickNanos - averageTickNanos) * COST_SMOOTHING;
+    }
+
+    /** Stops the session from ticking; pending phase actions are dropped. */
+    void close() {
+        closed = true;
+        onSecond = null;
+        onExpire = null;
+        experiment = null;
+    }
+
+    public boolean isClosed() { return closed; }
+
+    public Arena getArena() { return arena; }
+
+    public GamePhase getPhase() { return phase; }
+
+    /** Returns the seconds left in a timed phase, or -1 for an open-ended one. */
+    public int getRemainingSeconds() {
+        return phaseLength < 0 ? -1 : Math.max(0, (phaseLength - phaseTicks + 19) / 20);
+    }
+
+    public Experiment getExperiment() { return experiment; }
+
+    public void setExperiment(Experiment experiment) { this.experiment = experiment; }
+
+    /** Returns how long the last tick of this session took, in milliseconds. */
+    public double getLastTickMillis() { return lastTickNanos / 1_000_000.0; }
+
+    /** Returns the smoothed tick cost of this session, in milliseconds. */
+    public double getAverageTickMillis() { return averageTickNanos / 1_000_000.0; }
+}
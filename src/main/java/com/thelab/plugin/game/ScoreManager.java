@@ -4,71 +4,116 @@ import com.thelab.plugin.config.ConfigManager;
 
 import java.util.*;
 
-/** Tracks player scores within a game session. */
+/**
+ * Tracks player scores within a game session.
+ * Each player gets a dense slot index when first registered; scores are plain {@code int} arrays
+ * by slot, kept ranked as they change, so updates never box and rank and top-K queries never sort.
+ * Equal scores rank by who was registered first.
+ */
 public class ScoreManager {
 
-    private final Map<UUID, Integer> experimentScores = new HashMap<>();
-    private final Map<UUID, Integer> totalScores = new HashMap<>();
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private UUID[] players = new UUID[16];
+    private final ScoreRanking experimentScores = new ScoreRanking(16);
+    private final ScoreRanking totalScores = new ScoreRanking(16);
+    private Runnable changeListener = () -> {};
+
+    /** Sets the callback run after any score or ranking change. */
+    public void setChangeListener(Runnable listener) {
+        this.changeListener = listener;
+    }
+
+    /** Returns a player's slot, assigning the next free one if they have none. */
+    private int slotOf(UUID player) {
+        Integer slot = slots.get(player);
+        if (slot != null) return slot;
+        int next = slots.size();
+        if (next == players.length) players = Arrays.copyOf(players, next * 2);
+        players[next] = player;
+        slots.put(player, next);
+        return next;
+    }
+
+    /** Returns a player's slot, or -1 if they have none. */
+    private int findSlot(UUID player) {
+        Integer slot = slots.get(player);
+        return slot != null ? slot : -1;
+    }
 
     /** Adds points to a player's current experiment score. */
     public void addScore(UUID player, int points) {
-        experimentScores.merge(player, points, Integer::sum);
+        experimentScores.add(slotOf(player), points);
+        changeListener.run();
+    }
+
+    /** Sets a player's current experiment score. */
+    public void setScore(UUID player, int score) {
+        experimentScores.set(slotOf(player), score);
+        changeListener.run();
     }
 
     /** Returns a player's current experiment score. */
     public int getScore(UUID player) {
-        return experimentScores.getOrDefault(player, 0);
+        int slot = findSlot(player);
+        return slot >= 0 ? experimentScores.getScore(slot) : 0;
     }
 
     /** Returns a player's total score across all experiments. */
     public int getTotalScore(UUID player) {
-        return totalScores.getOrDefault(player, 0);
+        int slot = findSlot(player);
+        return slot >= 0 ? totalScores.getScore(slot) : 0;
     }
 
     /** Adds points directly to a player's total score. */
     public void addToTotal(UUID player, int points) {
-        totalScores.merge(player, points, Integer::sum);
+        totalScores.add(slotOf(player), points);
+        changeListener.run();
     }
 
     /** Returns all tracked players. */
     public Set<UUID> getPlayers() {
-        Set<UUID> all = new HashSet<>(experimentScores.keySet());
-        all.addAll(totalScores.keySet());
-        return all;
+        return new HashSet<>(slots.keySet());
     }
 
     /** Registers a player (so they appear in rankings even with 0 score). */
     public void registerPlayer(UUID player) {
-        experimentScores.putIfAbsent(player, 0);
-        totalScores.putIfAbsent(player, 0);
+        int slot = slotOf(player);
+        experimentScores.putIfAbsent(slot, 0);
+        totalScores.putIfAbsent(slot, 0);
+        changeListener.run();
     }
 
     /** Returns player UUIDs sorted by experiment score (highest first). */
     public List<UUID> getExperimentRanking() {
-        List<UUID> list = new ArrayList<>(experimentScores.keySet());
-        list.sort((a, b) -> experimentScores.getOrDefault(b, 0) - experimentScores.getOrDefault(a, 0));
-        return list;
+        return top(experimentScores, experimentScores.size());
     }
 
     /** Returns player UUIDs sorted by total score (highest first). */
     public List<UUID> getTotalRanking() {
-        List<UUID> list = new ArrayList<>(totalScores.keySet());
-        list.sort((a, b) -> totalScores.getOrDefault(b, 0) - totalScores.getOrDefault(a, 0));
+        return top(totalScores, totalScores.size());
+    }
+
+    /** Returns up to {@code limit} players with the highest total score, best first. */
+    public List<UUID> getTopTotal(int limit) {
+        return top(totalScores, limit);
+    }
+
+    private List<UUID> top(ScoreRanking ranking, int limit) {
+        List<UUID> list = new ArrayList<>(Math.min(limit, ranking.size()));
+        ranking.forEachTop(limit, slot -> list.add(players[slot]));
         return list;
     }
 
     /** Returns the 1-based rank of a player in experiment score. */
     public int getExperimentRank(UUID player) {
-        List<UUID> ranking = getExperimentRanking();
-        int idx = ranking.indexOf(player);
-        return idx >= 0 ? idx + 1 : ranking.size() + 1;
+        int slot = findSlot(player);
+        return slot >= 0 ? experimentScores.getRank(slot) : experimentScores.size() + 1;
     }
 
     /** Returns the 1-based rank of a player in total score. */
     public int getTotalRank(UUID player) {
-        List<UUID> ranking = getTotalRanking();
-        int idx = ranking.indexOf(player);
-        return idx >= 0 ? idx + 1 : ranking.size() + 1;
+        int slot = findSlot(player);
+        return slot >= 0 ? totalScores.getRank(slot) : totalScores.size() + 1;
     }
 
     /**
@@ -90,16 +135,16 @@ public class ScoreManager {
 
     /** Resets the current experiment scores (totals are preserved). */
     public void resetExperimentScores() {
-        Set<UUID> players = new HashSet<>(experimentScores.keySet());
-        experimentScores.clear();
-        for (UUID p : players) {
-            experimentScores.put(p, 0);
-        }
+        experimentScores.fill(0);
+        changeListener.run();
     }
 
     /** Clears all scores. */
     public void clear() {
         experimentScores.clear();
         totalScores.clear();
+        slots.clear();
+        Arrays.fill(players, null);
+        changeListener.run();
     }
 }
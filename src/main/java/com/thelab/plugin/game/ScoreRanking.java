@@ -0,0 +1,252 @@
+package com.thelab.plugin.game;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Scores of dense player slots, ranked highest first in an order-statistic treap.
+ * Scores and tree links live in parallel {@code int} arrays indexed by slot, so updates never box.
+ * Score changes, rank lookups and positional lookups are O(log n) expected; the top K
+ * slots are read in O(log n + K). Equal scores are ordered by slot, i.e. by registration
+ * order, so rankings never depend on hash order. Not thread-safe.
+ */
+public class ScoreRanking {
+
+    private static final int NONE = -1;
+
+    private int[] score;
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private int[] priority;
+    private boolean[] ranked;
+    private int root = NONE;
+    private int count;
+
+    public ScoreRanking(int capacity) {
+        int n = Math.max(capacity, 4);
+        score = new int[n];
+        left = new int[n];
+        right = new int[n];
+        size = new int[n];
+        priority = new int[n];
+        ranked = new boolean[n];
+    }
+
+    /** Adds a slot with the given score if not yet ranked. */
+    public void putIfAbsent(int slot, int value) {
+        ensureCapacity(slot + 1);
+        if (ranked[slot]) return;
+        ranked[slot] = true;
+        count++;
+        score[slot] = value;
+        priority[slot] = ThreadLocalRandom.current().nextInt();
+        detach(slot);
+        root = insert(root, slot);
+    }
+
+    /** Sets a slot's score, adding the slot if needed. */
+    public void set(int slot, int value) {
+        if (slot >= ranked.length || !ranked[slot]) {
+            putIfAbsent(slot, value);
+            return;
+        }
+        if (score[slot] == value) return;
+        root = remove(root, slot);
+        score[slot] = value;
+        detach(slot);
+        root = insert(root, slot);
+    }
+
+    /** Adds to a slot's score, adding the slot if needed. */
+    public void add(int slot, int points) {
+        set(slot, getScore(slot) + points);
+    }
+
+    /** Returns a slot's score, or 0 if not ranked. */
+    public int getScore(int slot) {
+        return slot < ranked.length && ranked[slot] ? score[slot] : 0;
+    }
+
+    public boolean contains(int slot) {
+        return slot < ranked.length && ranked[slot];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Returns the 1-based rank of a slot, or {@code size() + 1} if not ranked. */
+    public int getRank(int slot) {
+        if (!contains(slot)) return count + 1;
+        int before = 0;
+        int t = root;
+        while (t != slot) {
+            if (precedes(slot, t)) {
+                t = left[t];
+            } else {
+                before += sizeOf(left[t]) + 1;
+                t = right[t];
+            }
+        }
+        return before + sizeOf(left[slot]) + 1;
+    }
+
+    /** Returns the slot at a 0-based position, or -1 if out of range. */
+    public int get(int index) {
+        if (index < 0 || index >= count) return NONE;
+        int t = root;
+        while (true) {
+            int leftSize = sizeOf(left[t]);
+            if (index < leftSize) {
+                t = left[t];
+            } else if (index == leftSize) {
+                return t;
+            } else {
+                index -= leftSize + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    /** Passes up to {@code limit} slots from the top to {@code action}, best first. */
+    public void forEachTop(int limit, IntConsumer action) {
+        // Treap depth is O(log n) expected, but size the stack for the worst case
+        int[] path = new int[count];
+        int depth = 0;
+        int t = root;
+        int emitted = 0;
+        while (emitted < limit && (t != NONE || depth > 0)) {
+            while (t != NONE) {
+                path[depth++] = t;
+                t = left[t];
+            }
+            t = path[--depth];
+            action.accept(t);
+            emitted++;
+            t = right[t];
+        }
+    }
+
+    /**
+     * Sets every ranked slot to the same score in one pass. With all scores equal the order is
+     * plain slot order, so the tree is rebuilt in O(n) rather than re-inserted.
+     */
+    public void fill(int value) {
+        Arrays.fill(score, value);
+        int[] stack = new int[count];
+        int depth = 0;
+        for (int slot = 0; slot < ranked.length; slot++) {
+            if (!ranked[slot]) continue;
+            int last = NONE;
+            while (depth > 0 && priority[stack[depth - 1]] < priority[slot]) {
+                last = stack[--depth];
+            }
+            left[slot] = last;
+            right[slot] = NONE;
+            if (depth > 0) right[stack[depth - 1]] = slot;
+            stack[depth++] = slot;
+        }
+        root = depth > 0 ? stack[0] : NONE;
+        resize(root);
+    }
+
+    public void clear() {
+        Arrays.fill(ranked, false);
+        root = NONE;
+        count = 0;
+    }
+
+    // ---- Treap ----
+
+    /** Whether slot {@code a} ranks above slot {@code b}. */
+    private boolean precedes(int a, int b) {
+        return score[a] != score[b] ? score[a] > score[b] : a < b;
+    }
+
+    private int sizeOf(int t) {
+        return t != NONE ? size[t] : 0;
+    }
+
+    private int update(int t) {
+        size[t] = sizeOf(left[t]) + sizeOf(right[t]) + 1;
+        return t;
+    }
+
+    private void detach(int slot) {
+        left[slot] = NONE;
+        right[slot] = NONE;
+        size[slot] = 1;
+    }
+
+    private int resize(int t) {
+        if (t == NONE) return 0;
+        size[t] = resize(left[t]) + resize(right[t]) + 1;
+        return size[t];
+    }
+
+    private int insert(int t, int slot) {
+        if (t == NONE) return slot;
+        if (priority[slot] > priority[t]) {
+            // slot becomes the root of this subtree
+            split(t, slot);
+            left[slot] = splitLeft;
+            right[slot] = splitRight;
+            return update(slot);
+        }
+        if (precedes(slot, t)) left[t] = insert(left[t], slot);
+        else right[t] = insert(right[t], slot);
+        return update(t);
+    }
+
+    private int remove(int t, int slot) {
+        if (t == slot) return merge(left[t], right[t]);
+        if (precedes(slot, t)) left[t] = remove(left[t], slot);
+        else right[t] = remove(right[t], slot);
+        return update(t);
+    }
+
+    // Results of the last split
+    private int splitLeft, splitRight;
+
+    /** Splits into the slots ranking above {@code key} and the rest. */
+    private void split(int t, int key) {
+        if (t == NONE) {
+            splitLeft = NONE;
+            splitRight = NONE;
+            return;
+        }
+        if (precedes(t, key)) {
+            split(right[t], key);
+            right[t] = splitLeft;
+            splitLeft = update(t);
+        } else {
+            split(left[t], key);
+            left[t] = splitRight;
+            splitRight = update(t);
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NONE) return b;
+        if (b == NONE) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            return update(a);
+        }
+        left[b] = merge(a, left[b]);
+        return update(b);
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots <= ranked.length) return;
+        int n = Math.max(slots, ranked.length * 2);
+        score = Arrays.copyOf(score, n);
+        left = Arrays.copyOf(left, n);
+        right = Arrays.copyOf(right, n);
+        size = Arrays.copyOf(size, n);
+        priority = Arrays.copyOf(priority, n);
+        ranked = Arrays.copyOf(ranked, n);
+    }
+}
@@ -0,0 +1,185 @@
+package com.thelab.plugin.game;
+
+import com.thelab.plugin.TheLabPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.logging.Level;
+
+/**
+ * Hierarchical timing wheel for one-shot delays measured in ticks, shared by all arenas.
+ * Four levels of 64 slots cover delays up to 64^4 ticks; timers are placed by how far away they are
+ * and cascade down a level as their slot comes round. Scheduling and cancelling are O(1), and a
+ * single repeating task drives the wheel while any timer is pending. Main thread only.
+ */
+public class TimingWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final TheLabPlugin plugin;
+    private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+    private long now;
+    private int pending;
+    private BukkitTask task;
+
+    public TimingWheel(TheLabPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /** Creates a group whose timers can be cancelled together. */
+    public Group newGroup() {
+        return new Group();
+    }
+
+    /** Runs an action once after the given number of ticks (at least 1). */
+    public Timer schedule(long delayTicks, Runnable action) {
+        return schedule(null, delayTicks, action);
+    }
+
+    private Timer schedule(Group group, long delayTicks, Runnable action) {
+        Timer timer = new Timer(now + Math.min(Math.max(1, delayTicks), MAX_DELAY), action);
+        place(timer);
+        if (group != null) group.add(timer);
+        pending++;
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+        return timer;
+    }
+
+    /** Drops every pending timer without running it. */
+    public void shutdown() {
+        if (task != null) task.cancel();
+        task = null;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                while (slots[level][slot] != null) slots[level][slot].cancel();
+            }
+        }
+    }
+
+    // ---- Tick ----
+
+    private void tick() {
+        now++;
+        // Pull the next block of each higher level down once the levels below it have wrapped
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((now & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                cascade(level, (int) ((now >>> (SLOT_BITS * level)) & (SLOTS - 1)));
+            }
+        }
+
+        int slot = (int) (now & (SLOTS - 1));
+        Timer timer;
+        while ((timer = slots[0][slot]) != null) {
+            timer.detach();
+            try {
+                timer.action.run();
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Scheduled action failed", e);
+            }
+        }
+
+        if (pending == 0 && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timer timer = slots[level][slot];
+        slots[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer timer) {
+        long delta = timer.deadline - now;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) level++;
+        int slot = (int) ((timer.deadline >>> (SLOT_BITS * level)) & (SLOTS - 1));
+        Timer head = slots[level][slot];
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) head.prev = timer;
+        slots[level][slot] = timer;
+    }
+
+    /** A pending one-shot action. */
+    public final class Timer {
+        private final long deadline;
+        private final Runnable action;
+        private int level, slot;
+        private Timer prev, next;
+        private Group group;
+        private Timer groupPrev, groupNext;
+        private boolean active = true;
+
+        private Timer(long deadline, Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        /** Stops the action from running. Does nothing if it already ran or was cancelled. */
+        public void cancel() {
+            if (active) detach();
+        }
+
+        public boolean isActive() { return active; }
+
+        private void detach() {
+            active = false;
+            pending--;
+            if (prev != null) prev.next = next;
+            else slots[level][slot] = next;
+            if (next != null) next.prev = prev;
+            prev = next = null;
+            if (group != null) group.remove(this);
+        }
+    }
+
+    /** Timers that belong together, such as everything an experiment has scheduled. */
+    public final class Group {
+        private Timer head;
+        private int size;
+
+        private Group() {}
+
+        /** Runs an action once after the given number of ticks (at least 1), as part of this group. */
+        public Timer schedule(long delayTicks, Runnable action) {
+            return TimingWheel.this.schedule(this, delayTicks, action);
+        }
+
+        /** Cancels every pending timer in the group. */
+        public void cancelAll() {
+            while (head != null) head.cancel();
+        }
+
+        public int size() { return size; }
+
+        private void add(Timer timer) {
+            timer.group = this;
+            timer.groupNext = head;
+            if (head != null) head.groupPrev = timer;
+            head = timer;
+            size++;
+        }
+
+        private void remove(Timer timer) {
+            if (timer.groupPrev != null) timer.groupPrev.groupNext = timer.groupNext;
+            else head = timer.groupNext;
+            if (timer.groupNext != null) timer.groupNext.groupPrev = timer.groupPrev;
+            timer.groupPrev = timer.groupNext = null;
+            timer.group = null;
+            size--;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.thelab.plugin.listeners;
 
 import com.thelab.plugin.TheLabPlugin;
+import com.thelab.plugin.arena.Arena;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
@@ -20,14 +21,14 @@ public class ChatListener implements Listener {
     public void onChat(AsyncChatEvent event) {
         if (!plugin.getConfigManager().isArenaChatOnly()) return;
 
-        plugin.getArenaManager().getArenaForPlayer(event.getPlayer()).ifPresent(arena -> {
-            // Restrict chat recipients to arena participants only
-            event.viewers().clear();
-            event.viewers().addAll(arena.getAllParticipants());
-            // Prefix message with arena tag
-            String msgText = PlainTextComponentSerializer.plainText().serialize(event.message());
-            event.message(Component.text("[" + arena.getDisplayName() + "] "
-                    + event.getPlayer().getName() + ": " + msgText));
-        });
+        Arena arena = plugin.getArenaManager().getPlayerArena(event.getPlayer());
+        if (arena == null) return;
+        // Restrict chat recipients to arena participants only
+        event.viewers().clear();
+        event.viewers().addAll(arena.getAllParticipants());
+        // Prefix message with arena tag
+        String msgText = PlainTextComponentSerializer.plainText().serialize(event.message());
+        event.message(Component.text("[" + arena.getDisplayName() + "] "
+                + event.getPlayer().getName() + ": " + msgText));
     }
 }
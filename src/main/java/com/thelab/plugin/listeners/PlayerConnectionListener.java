@@ -30,25 +30,19 @@ public class PlayerConnectionListener implements Listener {
     @EventHandler
     public void onQuit(PlayerQuitEvent event) {
         plugin.getPlayerManager().handleQuit(event.getPlayer());
+        plugin.getArenaManager().unqueue(event.getPlayer().getUniqueId());
+        plugin.getScoreboardManager().removeScoreboard(event.getPlayer());
     }
 
     @EventHandler
     public void onDeath(PlayerDeathEvent event) {
         Player victim = event.getEntity();
-        plugin.getArenaManager().getArenaForPlayer(victim).ifPresent(arena -> {
-            event.setKeepInventory(true);
-            event.setDroppedExp(0);
-            event.getDrops().clear();
-
-            // Check if there's a killer
-            if (event.getEntity().getKiller() != null) {
-                Player killer = event.getEntity().getKiller();
-                plugin.getGameManager().getActiveExperiment(arena).ifPresent(exp -> {
-                    if (exp instanceof com.thelab.plugin.experiment.impl.FightExperiment fe) {
-                        fe.handleKill(killer, victim);
-                    }
-                });
-            }
-        });
+        Arena arena = plugin.getArenaManager().getPlayerArena(victim);
+        if (arena == null) return;
+        event.setKeepInventory(true);
+        event.setDroppedExp(0);
+        event.getDrops().clear();
+
+        plugin.getGameManager().getEventDispatcher().dispatch(arena, PlayerDeathEvent.class, event);
     }
 }
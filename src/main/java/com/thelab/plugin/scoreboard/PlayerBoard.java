@@ -0,0 +1,95 @@
+package com.thelab.plugin.scoreboard;
+
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One player's sidebar, remembering what was last sent.
+ * Each line is a team whose prefix holds the text; a render only touches the title and
+ * the lines whose text changed, so an unchanged board sends nothing.
+ */
+final class PlayerBoard {
+
+    private static final LegacyComponentSerializer SERIALIZER = LegacyComponentSerializer.legacyAmpersand();
+    private static final String[] ENTRY_CODES = {"\u00a70", "\u00a71", "\u00a72", "\u00a73", "\u00a74", "\u00a75",
+            "\u00a76", "\u00a77", "\u00a78", "\u00a79", "\u00a7a", "\u00a7b",
+            "\u00a7c", "\u00a7d", "\u00a7e", "\u00a7f"};
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+    // Indexed by sidebar score (line count - line index); slot 0 is unused
+    private Team[] teams = new Team[16];
+    private String[] sent = new String[16];
+    private String title;
+    private int lineCount;
+
+    /** Creates the board and shows it to the player. */
+    PlayerBoard(Player player, String title) {
+        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        this.objective = scoreboard.registerNewObjective("thelab", Criteria.DUMMY, SERIALIZER.deserialize(title));
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        this.title = title;
+        player.setScoreboard(scoreboard);
+    }
+
+    /** Re-attaches the board if something else replaced the player's scoreboard. */
+    void show(Player player) {
+        if (player.getScoreboard() != scoreboard) player.setScoreboard(scoreboard);
+    }
+
+    /** Sends the title and lines that differ from what the player already sees. */
+    void render(String newTitle, List<String> lines) {
+        if (!newTitle.equals(title)) {
+            objective.displayName(SERIALIZER.deserialize(newTitle));
+            title = newTitle;
+        }
+
+        int count = lines.size();
+        ensureCapacity(Math.max(count, lineCount) + 1);
+        // Hide lines the new layout no longer uses
+        for (int score = count + 1; score <= lineCount; score++) {
+            scoreboard.resetScores(entry(score));
+            sent[score] = null;
+        }
+        for (int i = 0; i < count; i++) {
+            int score = count - i;
+            String line = lines.get(i);
+            if (line.equals(sent[score])) continue;
+            Team team = teams[score];
+            if (team == null) team = teams[score] = createTeam(score);
+            if (score > lineCount) objective.getScore(entry(score)).setScore(score);
+            team.prefix(SERIALIZER.deserialize(line));
+            sent[score] = line;
+        }
+        lineCount = count;
+    }
+
+    private Team createTeam(int score) {
+        String name = "tl_" + score;
+        Team team = scoreboard.getTeam(name);
+        if (team == null) team = scoreboard.registerNewTeam(name);
+        String entry = entry(score);
+        if (!team.hasEntry(entry)) team.addEntry(entry);
+        return team;
+    }
+
+    /** Returns a unique color-code string to use as scoreboard entry for a given score. */
+    private static String entry(int score) {
+        return ENTRY_CODES[score % ENTRY_CODES.length] + "\u00a7r";
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= teams.length) return;
+        teams = Arrays.copyOf(teams, size);
+        sent = Arrays.copyOf(sent, size);
+    }
+}
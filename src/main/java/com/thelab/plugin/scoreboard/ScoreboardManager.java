@@ -2,235 +2,267 @@ package com.thelab.plugin.scoreboard;
 
 import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
-import com.thelab.plugin.arena.ArenaState;
+import com.thelab.plugin.config.ConfigManager;
+import com.thelab.plugin.config.MessageTemplate;
+import com.thelab.plugin.experiment.ExperimentType;
+import com.thelab.plugin.game.ExperimentRotation;
 import com.thelab.plugin.game.ScoreManager;
-import com.thelab.plugin.utils.MessageUtil;
-import com.thelab.plugin.utils.TimeUtil;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.scoreboard.*;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
-/** Non-flickering scoreboard manager using team-based approach. */
+/**
+ * Non-flickering scoreboard manager using team-based approach.
+ * Boards are redrawn only when something they show changes: arenas and players are marked
+ * dirty by score, state, round and membership changes, and one flush per tick renders just
+ * those boards. An idle lobby costs nothing between changes.
+ */
 public class ScoreboardManager {
 
     private final TheLabPlugin plugin;
-    private final Map<UUID, Scoreboard> playerScoreboards = new HashMap<>();
-    private final Map<UUID, Map<Integer, Team>> playerTeams = new HashMap<>();
-    private BukkitTask updateTask;
+    private final Map<UUID, PlayerBoard> boards = new HashMap<>();
+    private final Set<Arena> dirtyArenas = new LinkedHashSet<>();
+    private final Set<UUID> dirtyPlayers = new LinkedHashSet<>();
+    private final List<Arena> flushArenas = new ArrayList<>();
+    private final List<UUID> flushPlayers = new ArrayList<>();
+    private BukkitTask flushTask;
+    private boolean active;
+
+    // Placeholder order for each layout; values arrays are filled in the same order
+    static final String[] LOBBY_KEYS = {"date", "arena_name", "current", "max", "state", "state_colored"};
+    static final String[] GAME_KEYS = {"round", "experiment_name", "score", "rank",
+            "player1", "score1", "player2", "score2", "player3", "score3"};
+    static final String[] END_KEYS = {"winner", "player1", "total_score1", "player2", "total_score2",
+            "player3", "total_score3", "rank", "score"};
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    private Templates templates;
+    private final StringBuilder buffer = new StringBuilder(64);
+    private final List<String> lines = new ArrayList<>();
+    private String date;
+    private long dateExpires;
+
+    /** scoreboard.yml compiled once per config load. */
+    private static final class Templates {
+        final int generation;
+        final SidebarLayout lobby, game, end;
+
+        Templates(ConfigManager config) {
+            FileConfiguration yml = config.getScoreboard();
+            generation = config.getGeneration();
+            lobby = layout(yml, "lobby", LOBBY_KEYS,
+                    "&7{date}", "", "&fMap: &a{arena_name}", "&fPlayers: &a{current}/{max}",
+                    "&fStatus: {state_colored}", "", "&ewww.yourserver.com");
+            game = layout(yml, "game", GAME_KEYS,
+                    "&7Round {round}", "", "&fExperiment: &a{experiment_name}",
+                    "&fYour Score: &a{score}", "&fYour Rank: &e#{rank}", "", "&ewww.yourserver.com");
+            end = layout(yml, "end", END_KEYS,
+                    "&7Game Over!", "", "&6Winner: {winner}", "&fYour Rank: &e#{rank}",
+                    "&fYour Score: &a{score}", "", "&ewww.yourserver.com");
+        }
+
+        private static SidebarLayout layout(FileConfiguration yml, String path, String[] keys, String... fallback) {
+            List<String> configured = yml.getStringList(path + ".lines");
+            return new SidebarLayout(yml.getString(path + ".title", "&e&lTHE LAB"),
+                    configured.isEmpty() ? List.of(fallback) : configured, keys);
+        }
+    }
 
     public ScoreboardManager(TheLabPlugin plugin) {
         this.plugin = plugin;
     }
 
-    /** Starts the periodic scoreboard update task. */
+    /** Enables scoreboards and draws them for everyone already in an arena. */
     public void start() {
-        int interval = plugin.getConfigManager().getScoreboardUpdateInterval();
-        updateTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Arena arena : plugin.getArenaManager().getArenas()) {
-                    for (Player p : arena.getAllParticipants()) {
-                        updateScoreboard(p, arena);
-                    }
-                }
+        active = true;
+        markAllDirty();
+    }
+
+    /** Marks every participant of an arena for a redraw on the next flush. Main thread only. */
+    public void markDirty(Arena arena) {
+        if (!active) return;
+        dirtyArenas.add(arena);
+        scheduleFlush();
+    }
+
+    /** Marks one player's board for a redraw on the next flush. Main thread only. */
+    public void markDirty(Player player) {
+        if (!active) return;
+        dirtyPlayers.add(player.getUniqueId());
+        scheduleFlush();
+    }
+
+    /** Marks every arena dirty, e.g. after a config reload changed the layouts. */
+    public void markAllDirty() {
+        for (Arena arena : plugin.getArenaManager().getArenas()) markDirty(arena);
+    }
+
+    // Changes within a tick coalesce into one flush at the start of the next. Games
+    // torn down in onDisable still change state, but the plugin can no longer schedule.
+    private void scheduleFlush() {
+        if (flushTask == null && plugin.isEnabled()) flushTask = Bukkit.getScheduler().runTask(plugin, this::flush);
+    }
+
+    /** Renders the boards marked since the last flush, each at most once. */
+    private void flush() {
+        flushTask = null;
+        // Take a snapshot so marks made while rendering go to the next flush
+        flushArenas.addAll(dirtyArenas);
+        flushPlayers.addAll(dirtyPlayers);
+        dirtyArenas.clear();
+        dirtyPlayers.clear();
+        try {
+            for (Arena arena : flushArenas) draw(arena, arena.getAllParticipants());
+            for (UUID uuid : flushPlayers) {
+                Arena arena = plugin.getArenaManager().getPlayerArena(uuid);
+                if (arena == null || flushArenas.contains(arena)) continue;
+                Player player = Bukkit.getPlayer(uuid);
+                if (player != null) draw(arena, List.of(player));
             }
-        }.runTaskTimer(plugin, interval, interval);
+        } finally {
+            flushArenas.clear();
+            flushPlayers.clear();
+        }
     }
 
-    /** Stops the update task. */
+    /** Stops updating and removes all scoreboards. */
     public void stop() {
-        if (updateTask != null) { updateTask.cancel(); updateTask = null; }
+        active = false;
+        if (flushTask != null) { flushTask.cancel(); flushTask = null; }
+        dirtyArenas.clear();
+        dirtyPlayers.clear();
         // Remove all scoreboards
         for (Player p : Bukkit.getOnlinePlayers()) {
             p.setScoreboard(Bukkit.getScoreboardManager().getNewScoreboard());
         }
-        playerScoreboards.clear();
-        playerTeams.clear();
+        boards.clear();
     }
 
-    /** Creates or updates a player's scoreboard. */
+    /** Creates or updates a player's scoreboard, sending only what changed since the last update. */
     public void updateScoreboard(Player player, Arena arena) {
-        if (!plugin.getConfigManager().isScoreboardEnabled()) return;
-
-        List<String> lines = buildLines(player, arena);
-        String title = getTitle(arena);
-
-        Scoreboard sb = playerScoreboards.computeIfAbsent(player.getUniqueId(),
-                uuid -> createScoreboard(player, title));
+        draw(arena, List.of(player));
+    }
 
-        Objective obj = sb.getObjective("thelab");
-        if (obj == null) {
-            obj = sb.registerNewObjective("thelab", Criteria.DUMMY,
-                    LegacyComponentSerializer.legacyAmpersand().deserialize(title));
-            obj.setDisplaySlot(DisplaySlot.SIDEBAR);
-        }
-        // Update title
-        obj.displayName(LegacyComponentSerializer.legacyAmpersand().deserialize(title));
-
-        // Update lines using teams (no flickering)
-        Map<Integer, Team> teams = playerTeams.computeIfAbsent(player.getUniqueId(), uuid -> new HashMap<>());
-
-        // First, ensure enough teams exist
-        final Objective finalObj = obj;
-        for (int i = 0; i < lines.size(); i++) {
-            int score = lines.size() - i;
-            Team team = teams.computeIfAbsent(score, s -> {
-                String teamName = "tl_" + s;
-                Team t = sb.getTeam(teamName);
-                if (t == null) t = sb.registerNewTeam(teamName);
-                // Add entry
-                String entry = getEntry(s);
-                if (!t.hasEntry(entry)) t.addEntry(entry);
-                finalObj.getScore(entry).setScore(s);
-                return t;
-            });
-            team.prefix(LegacyComponentSerializer.legacyAmpersand().deserialize(lines.get(i)));
+    /**
+     * Draws an arena's boards for the given viewers: arena-wide values and lines are computed
+     * once, then each viewer only gets their own score and rank lines rendered.
+     */
+    private void draw(Arena arena, List<Player> viewers) {
+        if (viewers.isEmpty() || !plugin.getConfigManager().isScoreboardEnabled()) return;
+        Templates t = templates();
+        ScoreManager scores = plugin.getGameManager().getScoreManager(arena).orElse(null);
+        boolean totals = false;
+        SidebarLayout layout;
+        switch (arena.getState()) {
+            case EXPERIMENT_PLAY, EXPERIMENT_INTRO, EXPERIMENT_RESULTS -> {
+                layout = t.game;
+                fillGameValues(layout.values, arena, scores);
+            }
+            case GAME_END -> {
+                layout = t.end;
+                totals = true;
+                fillEndValues(layout.values, scores);
+            }
+            default -> {
+                layout = t.lobby;
+                fillLobbyValues(layout.values, arena);
+            }
         }
+        layout.renderShared(buffer);
 
-        player.setScoreboard(sb);
+        for (Player player : viewers) {
+            String score = "0", rank = "?";
+            if (layout.hasPlayerLines && scores != null) {
+                UUID id = player.getUniqueId();
+                score = String.valueOf(totals ? scores.getTotalScore(id) : scores.getScore(id));
+                rank = String.valueOf(totals ? scores.getTotalRank(id) : scores.getExperimentRank(id));
+            }
+            render(player, layout.title, layout.renderFor(buffer, score, rank, lines));
+        }
     }
 
-    private Scoreboard createScoreboard(Player player, String title) {
-        Scoreboard sb = Bukkit.getScoreboardManager().getNewScoreboard();
-        return sb;
+    private void render(Player player, String title, List<String> lines) {
+        PlayerBoard board = boards.get(player.getUniqueId());
+        if (board == null) {
+            board = new PlayerBoard(player, title);
+            boards.put(player.getUniqueId(), board);
+        } else {
+            board.show(player);
+        }
+        board.render(title, lines);
     }
 
     /** Removes a player's scoreboard. */
     public void removeScoreboard(Player player) {
-        playerScoreboards.remove(player.getUniqueId());
-        playerTeams.remove(player.getUniqueId());
+        boards.remove(player.getUniqueId());
+        dirtyPlayers.remove(player.getUniqueId());
         player.setScoreboard(Bukkit.getScoreboardManager().getNewScoreboard());
     }
 
-    private String getTitle(Arena arena) {
-        ArenaState state = arena.getState();
-        return switch (state) {
-            case GAME_END -> plugin.getConfigManager().getScoreboard().getString("end.title", "&e&lTHE LAB");
-            case EXPERIMENT_PLAY, EXPERIMENT_INTRO, EXPERIMENT_RESULTS -> 
-                plugin.getConfigManager().getScoreboard().getString("game.title", "&e&lTHE LAB");
-            default -> plugin.getConfigManager().getScoreboard().getString("lobby.title", "&e&lTHE LAB");
-        };
+    /** Returns the compiled templates, rebuilding them in one swap after a config reload. */
+    private Templates templates() {
+        ConfigManager config = plugin.getConfigManager();
+        Templates current = templates;
+        if (current == null || current.generation != config.getGeneration()) {
+            current = new Templates(config);
+            templates = current;
+        }
+        return current;
     }
 
-    private List<String> buildLines(Player player, Arena arena) {
-        ArenaState state = arena.getState();
-        String date = new SimpleDateFormat("MM/dd/yyyy").format(new Date());
+    /** Today's date, formatted once per day. */
+    private String today() {
+        long now = System.currentTimeMillis();
+        if (date == null || now >= dateExpires) {
+            LocalDate day = LocalDate.now();
+            date = DATE_FORMAT.format(day);
+            dateExpires = day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return date;
+    }
 
-        return switch (state) {
-            case EXPERIMENT_PLAY, EXPERIMENT_INTRO, EXPERIMENT_RESULTS -> buildGameLines(player, arena, date);
-            case GAME_END -> buildEndLines(player, arena, date);
-            default -> buildLobbyLines(player, arena, date);
-        };
+    private void fillLobbyValues(String[] v, Arena arena) {
+        v[0] = today();
+        v[1] = arena.getDisplayName();
+        v[2] = String.valueOf(arena.getPlayerCount());
+        v[3] = String.valueOf(arena.getMaxPlayers());
+        v[4] = arena.getState().getDisplayName();
+        v[5] = arena.getState().getColoredName();
     }
 
-    private List<String> buildLobbyLines(Player player, Arena arena, String date) {
-        List<String> template = plugin.getConfigManager().getScoreboard().getStringList("lobby.lines");
-        if (template.isEmpty()) {
-            template = List.of("&7" + date, "", "&fMap: &a" + arena.getDisplayName(),
-                    "&fPlayers: &a" + arena.getPlayerCount() + "/" + arena.getMaxPlayers(),
-                    "&fStatus: " + arena.getState().getColoredName(), "", "&ewww.yourserver.com");
-        }
-        List<String> result = new ArrayList<>();
-        for (String line : template) {
-            result.add(MessageUtil.colorize(line
-                    .replace("{date}", date)
-                    .replace("{arena_name}", arena.getDisplayName())
-                    .replace("{current}", String.valueOf(arena.getPlayerCount()))
-                    .replace("{max}", String.valueOf(arena.getMaxPlayers()))
-                    .replace("{state}", arena.getState().getDisplayName())));
-        }
-        return result;
-    }
-
-    private List<String> buildGameLines(Player player, Arena arena, String date) {
-        Optional<ScoreManager> scoresOpt = plugin.getGameManager().getScoreManager(arena);
-        Optional<com.thelab.plugin.game.ExperimentRotation> rotOpt = plugin.getGameManager().getRotation(arena);
-
-        String expName = rotOpt.map(r -> {
-            var cur = r.getCurrentExperiment();
-            return cur != null ? cur.getDisplayName() : "Unknown";
-        }).orElse("Unknown");
-        String round = rotOpt.map(r -> r.getRound() + "/" + r.getTotalRounds()).orElse("1/3");
-        String score = scoresOpt.map(s -> String.valueOf(s.getScore(player.getUniqueId()))).orElse("0");
-        String rank = scoresOpt.map(s -> "#" + s.getExperimentRank(player.getUniqueId())).orElse("#?");
-
-        // Top 3 players
-        String p1 = "-", p2 = "-", p3 = "-";
-        String s1 = "0", s2 = "0", s3 = "0";
-        if (scoresOpt.isPresent()) {
-            List<UUID> ranking = scoresOpt.get().getTotalRanking();
-            if (ranking.size() > 0) { Player bp = Bukkit.getPlayer(ranking.get(0)); p1 = bp != null ? bp.getName() : "?"; s1 = String.valueOf(scoresOpt.get().getTotalScore(ranking.get(0))); }
-            if (ranking.size() > 1) { Player bp = Bukkit.getPlayer(ranking.get(1)); p2 = bp != null ? bp.getName() : "?"; s2 = String.valueOf(scoresOpt.get().getTotalScore(ranking.get(1))); }
-            if (ranking.size() > 2) { Player bp = Bukkit.getPlayer(ranking.get(2)); p3 = bp != null ? bp.getName() : "?"; s3 = String.valueOf(scoresOpt.get().getTotalScore(ranking.get(2))); }
-        }
+    /** Fills the arena-wide game values; score and rank are filled per viewer. */
+    private void fillGameValues(String[] v, Arena arena, ScoreManager scores) {
+        ExperimentRotation rotation = plugin.getGameManager().getRotation(arena).orElse(null);
+        ExperimentType current = rotation != null ? rotation.getCurrentExperiment() : null;
+        v[0] = rotation != null ? rotation.getRound() + "/" + rotation.getTotalRounds() : "1/3";
+        v[1] = current != null ? current.getDisplayName() : "Unknown";
+        fillTopThree(scores, v, 4);
+    }
 
-        List<String> template = plugin.getConfigManager().getScoreboard().getStringList("game.lines");
-        if (template.isEmpty()) {
-            return List.of("&7Round " + round, "", "&fExperiment: &a" + expName,
-                    "&fYour Score: &a" + score, "&fYour Rank: &e" + rank, "", "&ewww.yourserver.com");
-        }
-        List<String> result = new ArrayList<>();
-        final String fp1 = p1, fp2 = p2, fp3 = p3, fs1 = s1, fs2 = s2, fs3 = s3;
-        for (String line : template) {
-            result.add(MessageUtil.colorize(line
-                    .replace("{round}", round)
-                    .replace("{experiment_name}", expName)
-                    .replace("{score}", score)
-                    .replace("{rank}", rank)
-                    .replace("{player1}", fp1).replace("{score1}", fs1)
-                    .replace("{player2}", fp2).replace("{score2}", fs2)
-                    .replace("{player3}", fp3).replace("{score3}", fs3)));
-        }
-        return result;
-    }
-
-    private List<String> buildEndLines(Player player, Arena arena, String date) {
-        Optional<ScoreManager> scoresOpt = plugin.getGameManager().getScoreManager(arena);
-        String winner = "-";
-        String p1 = "-", p2 = "-", p3 = "-";
-        String s1 = "0", s2 = "0", s3 = "0";
-        String myRank = "?", myScore = "0";
-        if (scoresOpt.isPresent()) {
-            List<UUID> ranking = scoresOpt.get().getTotalRanking();
-            if (!ranking.isEmpty()) {
-                Player wp = Bukkit.getPlayer(ranking.get(0));
-                winner = wp != null ? wp.getName() : "?";
-            }
-            if (ranking.size() > 0) { Player bp = Bukkit.getPlayer(ranking.get(0)); p1 = bp != null ? bp.getName() : "?"; s1 = String.valueOf(scoresOpt.get().getTotalScore(ranking.get(0))); }
-            if (ranking.size() > 1) { Player bp = Bukkit.getPlayer(ranking.get(1)); p2 = bp != null ? bp.getName() : "?"; s2 = String.valueOf(scoresOpt.get().getTotalScore(ranking.get(1))); }
-            if (ranking.size() > 2) { Player bp = Bukkit.getPlayer(ranking.get(2)); p3 = bp != null ? bp.getName() : "?"; s3 = String.valueOf(scoresOpt.get().getTotalScore(ranking.get(2))); }
-            myRank = String.valueOf(scoresOpt.get().getTotalRank(player.getUniqueId()));
-            myScore = String.valueOf(scoresOpt.get().getTotalScore(player.getUniqueId()));
-        }
-        List<String> template = plugin.getConfigManager().getScoreboard().getStringList("end.lines");
-        if (template.isEmpty()) {
-            return List.of("&7Game Over!", "", "&6Winner: " + winner, "&fYour Rank: &e#" + myRank, "&fYour Score: &a" + myScore, "", "&ewww.yourserver.com");
-        }
-        final String fw = winner, fp1 = p1, fp2 = p2, fp3 = p3, fs1 = s1, fs2 = s2, fs3 = s3, fr = myRank, fms = myScore;
-        List<String> result = new ArrayList<>();
-        for (String line : template) {
-            result.add(MessageUtil.colorize(line
-                    .replace("{winner}", fw)
-                    .replace("{player1}", fp1).replace("{total_score1}", fs1)
-                    .replace("{player2}", fp2).replace("{total_score2}", fs2)
-                    .replace("{player3}", fp3).replace("{total_score3}", fs3)
-                    .replace("{rank}", fr).replace("{score}", fms)));
-        }
-        return result;
+    /** Fills the arena-wide end values; rank and score are filled per viewer. */
+    private void fillEndValues(String[] v, ScoreManager scores) {
+        fillTopThree(scores, v, 1);
+        v[0] = v[1];    // winner is the top player
     }
 
-    /** Returns a unique color-code string to use as scoreboard entry for a given score. */
-    private String getEntry(int score) {
-        String[] codes = {"\u00a70", "\u00a71", "\u00a72", "\u00a73", "\u00a74", "\u00a75",
-                "\u00a76", "\u00a77", "\u00a78", "\u00a79", "\u00a7a", "\u00a7b",
-                "\u00a7c", "\u00a7d", "\u00a7e", "\u00a7f"};
-        return codes[score % codes.length] + "\u00a7r";
+    /** Writes name, total score pairs for the top three players starting at {@code from}. */
+    private void fillTopThree(ScoreManager scores, String[] values, int from) {
+        List<UUID> top = scores != null ? scores.getTopTotal(3) : List.of();
+        for (int i = 0; i < 3; i++) {
+            if (i < top.size()) {
+                Player p = Bukkit.getPlayer(top.get(i));
+                values[from + i * 2] = p != null ? p.getName() : "?";
+                values[from + i * 2 + 1] = String.valueOf(scores.getTotalScore(top.get(i)));
+            } else {
+                values[from + i * 2] = "-";
+                values[from + i * 2 + 1] = "0";
+            }
+        }
     }
 }
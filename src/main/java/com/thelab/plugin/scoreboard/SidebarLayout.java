@@ -0,0 +1,61 @@
+package com.thelab.plugin.scoreboard;
+
+import com.thelab.plugin.config.MessageTemplate;
+
+import java.util.List;
+
+/**
+ * One compiled sidebar layout. Lines that only use arena-wide placeholders are rendered once per
+ * arena into {@link #shared}; only lines using {@code {score}} or {@code {rank}} are rendered per
+ * viewer. Shared lines are the same String instances for every viewer, so {@link PlayerBoard}'s
+ * change check on them is a reference comparison. Plain Java, so it can be benchmarked without a server.
+ */
+final class SidebarLayout {
+
+    // Placeholders that differ between viewers of the same arena
+    static final String SCORE_KEY = "score";
+    static final String RANK_KEY = "rank";
+
+    final String title;
+    final MessageTemplate[] lines;
+    final boolean[] perPlayer;
+    final boolean hasPlayerLines;
+    final String[] values;
+    final String[] shared;
+    final int scoreSlot, rankSlot;
+
+    SidebarLayout(String title, List<String> source, String[] keys) {
+        this.title = title;
+        lines = new MessageTemplate[source.size()];
+        perPlayer = new boolean[source.size()];
+        boolean any = false;
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = MessageTemplate.compile(source.get(i), keys);
+            perPlayer[i] = lines[i].uses(SCORE_KEY) || lines[i].uses(RANK_KEY);
+            any |= perPlayer[i];
+        }
+        hasPlayerLines = any;
+        values = new String[keys.length];
+        shared = new String[lines.length];
+        scoreSlot = List.of(keys).indexOf(SCORE_KEY);
+        rankSlot = List.of(keys).indexOf(RANK_KEY);
+    }
+
+    /** Renders the arena-wide lines from the current values. */
+    void renderShared(StringBuilder buffer) {
+        for (int i = 0; i < lines.length; i++) {
+            shared[i] = perPlayer[i] ? null : lines[i].render(buffer, values);
+        }
+    }
+
+    /** Fills {@code out} with the shared lines plus this viewer's own lines. */
+    List<String> renderFor(StringBuilder buffer, String score, String rank, List<String> out) {
+        if (scoreSlot >= 0) values[scoreSlot] = score;
+        if (rankSlot >= 0) values[rankSlot] = rank;
+        out.clear();
+        for (int i = 0; i < lines.length; i++) {
+            out.add(perPlayer[i] ? lines[i].render(buffer, values) : shared[i]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,122 @@
+package com.thelab.plugin.stats;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Stats in a shared MySQL or MariaDB database, so several game servers can use one store.
+ * Connections come from a HikariCP pool; the driver caches prepared statements per connection
+ * and rewrites each batch into multi-row inserts.
+ */
+public class MySqlStatsStorage extends SqlStatsStorage {
+
+    private final DataSource dataSource;
+    private final HikariDataSource pool;    // null when the data source was passed in
+    private final String upsertSql;
+    private final String selectSql;
+
+    /** Pools connections to the configured server. */
+    public MySqlStatsStorage(String host, int port, String database, String username, String password,
+                             boolean useSsl, int poolSize, String tablePrefix) {
+        this(createPool(host, port, database, username, password, useSsl, poolSize), true, tablePrefix);
+    }
+
+    /**
+     * Uses an existing data source, e.g. a local or embedded stand-in database; the caller keeps
+     * ownership of it. It must speak MySQL's dialect ({@code ON DUPLICATE KEY UPDATE}).
+     */
+    public MySqlStatsStorage(DataSource dataSource, String tablePrefix) {
+        this(dataSource, false, tablePrefix);
+    }
+
+    private MySqlStatsStorage(DataSource dataSource, boolean owned, String tablePrefix) {
+        super(tablePrefix + "stats");
+        this.dataSource = dataSource;
+        this.pool = owned ? (HikariDataSource) dataSource : null;
+        this.upsertSql = """
+            INSERT INTO %s (uuid, player_name, games_played, wins, losses, kills, deaths,
+                points_earned, experiments_won, playtime_seconds)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                player_name = COALESCE(VALUES(player_name), player_name),
+                games_played = games_played + VALUES(games_played),
+                wins = wins + VALUES(wins),
+                losses = losses + VALUES(losses),
+                kills = kills + VALUES(kills),
+                deaths = deaths + VALUES(deaths),
+                points_earned = points_earned + VALUES(points_earned),
+                experiments_won = experiments_won + VALUES(experiments_won),
+                playtime_seconds = playtime_seconds + VALUES(playtime_seconds)
+        """.formatted(table);
+        this.selectSql = "SELECT * FROM " + table + " WHERE uuid = ?";
+    }
+
+    private static HikariDataSource createPool(String host, int port, String database, String username,
+                                               String password, boolean useSsl, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("TheLab-Stats");
+        config.setJdbcUrl("jdbc:mysql://" + host + ":" + port + "/" + database
+                + "?useSSL=" + useSsl + "&allowPublicKeyRetrieval=" + !useSsl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(Math.max(1, poolSize));
+        config.setMinimumIdle(1);
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "25");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        return new HikariDataSource(config);
+    }
+
+    @Override
+    public void initialize() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS %s (
+                    uuid VARCHAR(36) PRIMARY KEY,
+                    player_name VARCHAR(16),
+                    games_played INT DEFAULT 0,
+                    wins INT DEFAULT 0,
+                    losses INT DEFAULT 0,
+                    kills INT DEFAULT 0,
+                    deaths INT DEFAULT 0,
+                    points_earned INT DEFAULT 0,
+                    experiments_won INT DEFAULT 0,
+                    playtime_seconds BIGINT DEFAULT 0
+                )
+            """.formatted(table));
+        }
+    }
+
+    @Override
+    public PlayerStats load(UUID uuid) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(selectSql)) {
+            return select(connection, ps, uuid);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<StatsDelta> batch) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(upsertSql)) {
+            connection.setAutoCommit(false);
+            try {
+                writeBatch(connection, ps, batch);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.close();
+    }
+}
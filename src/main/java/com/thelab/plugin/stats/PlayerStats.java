@@ -21,6 +21,19 @@ public class PlayerStats {
         this.playerName = playerName;
     }
 
+    /** Applies a stats delta, e.g. a finished game's results. */
+    public void apply(StatsDelta delta) {
+        if (delta.getPlayerName() != null) playerName = delta.getPlayerName();
+        gamesPlayed += delta.getGamesPlayed();
+        wins += delta.getWins();
+        losses += delta.getLosses();
+        kills += delta.getKills();
+        deaths += delta.getDeaths();
+        pointsEarned += delta.getPointsEarned();
+        experimentsWon += delta.getExperimentsWon();
+        playtimeSeconds += delta.getPlaytimeSeconds();
+    }
+
     // Getters / setters
     public UUID getUuid() { return uuid; }
     public String getPlayerName() { return playerName; }
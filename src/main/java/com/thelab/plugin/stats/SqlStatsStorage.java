@@ -0,0 +1,77 @@
+package com.thelab.plugin.stats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.UUID;
+
+/** Row mapping and batch writing shared by the JDBC stats stores. */
+abstract class SqlStatsStorage implements StatsStorage {
+
+    protected final String table;
+
+    protected SqlStatsStorage(String table) {
+        this.table = table;
+    }
+
+    /** Binds the ten increment parameters, in column order. */
+    protected static void bind(PreparedStatement ps, StatsDelta delta) throws SQLException {
+        ps.setString(1, delta.getUuid().toString());
+        ps.setString(2, delta.getPlayerName());
+        ps.setInt(3, delta.getGamesPlayed());
+        ps.setInt(4, delta.getWins());
+        ps.setInt(5, delta.getLosses());
+        ps.setInt(6, delta.getKills());
+        ps.setInt(7, delta.getDeaths());
+        ps.setInt(8, delta.getPointsEarned());
+        ps.setInt(9, delta.getExperimentsWon());
+        ps.setLong(10, delta.getPlaytimeSeconds());
+    }
+
+    /** Reads the current row of a select over the stats table. */
+    protected static PlayerStats read(ResultSet rs, UUID uuid) throws SQLException {
+        PlayerStats stats = new PlayerStats(uuid, rs.getString("player_name"));
+        stats.setGamesPlayed(rs.getInt("games_played"));
+        stats.setWins(rs.getInt("wins"));
+        stats.setLosses(rs.getInt("losses"));
+        stats.setKills(rs.getInt("kills"));
+        stats.setDeaths(rs.getInt("deaths"));
+        stats.setPointsEarned(rs.getInt("points_earned"));
+        stats.setExperimentsWon(rs.getInt("experiments_won"));
+        stats.setPlaytimeSeconds(rs.getLong("playtime_seconds"));
+        return stats;
+    }
+
+    /** Runs one select by UUID, ending the read transaction if autocommit is off. */
+    protected static PlayerStats select(Connection connection, PreparedStatement ps, UUID uuid) throws SQLException {
+        ps.setString(1, uuid.toString());
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? read(rs, uuid) : null;
+        } finally {
+            if (!connection.getAutoCommit()) connection.commit();
+        }
+    }
+
+    /** Executes the batch as one transaction on a connection with autocommit off. */
+    protected static void writeBatch(Connection connection, PreparedStatement ps,
+                                     Collection<StatsDelta> batch) throws SQLException {
+        try {
+            for (StatsDelta delta : batch) {
+                bind(ps, delta);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                ps.clearBatch();
+                connection.rollback();
+            } catch (SQLException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        }
+    }
+}
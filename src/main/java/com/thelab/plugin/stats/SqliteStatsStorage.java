@@ -0,0 +1,85 @@
+package com.thelab.plugin.stats;
+
+import java.io.File;
+import java.sql.*;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Stats in a local SQLite file. One connection with its statements prepared once and reused;
+ * SQLite serializes writers anyway, so a pool would add nothing.
+ */
+public class SqliteStatsStorage extends SqlStatsStorage {
+
+    private final String url;
+    private Connection connection;
+    private PreparedStatement upsert;
+    private PreparedStatement select;
+
+    public SqliteStatsStorage(File file) {
+        this("jdbc:sqlite:" + file.getAbsolutePath());
+    }
+
+    /** @param url any SQLite JDBC URL, e.g. {@code jdbc:sqlite::memory:} */
+    public SqliteStatsStorage(String url) {
+        super("tl_stats");
+        this.url = url;
+    }
+
+    @Override
+    public void initialize() throws SQLException {
+        connection = DriverManager.getConnection(url);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS %s (
+                    uuid TEXT PRIMARY KEY,
+                    player_name TEXT,
+                    games_played INTEGER DEFAULT 0,
+                    wins INTEGER DEFAULT 0,
+                    losses INTEGER DEFAULT 0,
+                    kills INTEGER DEFAULT 0,
+                    deaths INTEGER DEFAULT 0,
+                    points_earned INTEGER DEFAULT 0,
+                    experiments_won INTEGER DEFAULT 0,
+                    playtime_seconds INTEGER DEFAULT 0
+                )
+            """.formatted(table));
+        }
+        connection.setAutoCommit(false);
+        upsert = connection.prepareStatement("""
+            INSERT INTO %s (uuid, player_name, games_played, wins, losses, kills, deaths,
+                points_earned, experiments_won, playtime_seconds)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(uuid) DO UPDATE SET
+                player_name = COALESCE(excluded.player_name, player_name),
+                games_played = games_played + excluded.games_played,
+                wins = wins + excluded.wins,
+                losses = losses + excluded.losses,
+                kills = kills + excluded.kills,
+                deaths = deaths + excluded.deaths,
+                points_earned = points_earned + excluded.points_earned,
+                experiments_won = experiments_won + excluded.experiments_won,
+                playtime_seconds = playtime_seconds + excluded.playtime_seconds
+        """.formatted(table));
+        select = connection.prepareStatement("SELECT * FROM " + table + " WHERE uuid = ?");
+    }
+
+    @Override
+    public PlayerStats load(UUID uuid) throws SQLException {
+        return select(connection, select, uuid);
+    }
+
+    @Override
+    public void addAll(Collection<StatsDelta> batch) throws SQLException {
+        writeBatch(connection, upsert, batch);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (upsert != null) upsert.close();
+            if (select != null) select.close();
+            if (connection != null && !connection.isClosed()) connection.close();
+        } catch (SQLException ignored) {}
+    }
+}
@@ -0,0 +1,66 @@
+package com.thelab.plugin.stats;
+
+import java.util.UUID;
+
+/**
+ * Changes to one player's stats, applied as increments so the current totals never need to be
+ * loaded first. Deltas for the same player are merged by summing.
+ */
+public class StatsDelta {
+
+    private final UUID uuid;
+    private String playerName;      // null keeps the stored name
+    private int gamesPlayed;
+    private int wins;
+    private int losses;
+    private int kills;
+    private int deaths;
+    private int pointsEarned;
+    private int experimentsWon;
+    private long playtimeSeconds;
+
+    public StatsDelta(UUID uuid, String playerName) {
+        this.uuid = uuid;
+        this.playerName = playerName;
+    }
+
+    public UUID getUuid() { return uuid; }
+    public String getPlayerName() { return playerName; }
+
+    public int getGamesPlayed() { return gamesPlayed; }
+    public StatsDelta addGamesPlayed(int n) { gamesPlayed += n; return this; }
+
+    public int getWins() { return wins; }
+    public StatsDelta addWins(int n) { wins += n; return this; }
+
+    public int getLosses() { return losses; }
+    public StatsDelta addLosses(int n) { losses += n; return this; }
+
+    public int getKills() { return kills; }
+    public StatsDelta addKills(int n) { kills += n; return this; }
+
+    public int getDeaths() { return deaths; }
+    public StatsDelta addDeaths(int n) { deaths += n; return this; }
+
+    public int getPointsEarned() { return pointsEarned; }
+    public StatsDelta addPoints(int n) { pointsEarned += n; return this; }
+
+    public int getExperimentsWon() { return experimentsWon; }
+    public StatsDelta addExperimentsWon(int n) { experimentsWon += n; return this; }
+
+    public long getPlaytimeSeconds() { return playtimeSeconds; }
+    public StatsDelta addPlaytime(long n) { playtimeSeconds += n; return this; }
+
+    /** Adds another delta for the same player into this one. */
+    public void merge(StatsDelta other) {
+        if (other.playerName != null) playerName = other.playerName;
+        gamesPlayed += other.gamesPlayed;
+        wins += other.wins;
+        losses += other.losses;
+        kills += other.kills;
+        deaths += other.deaths;
+        pointsEarned += other.pointsEarned;
+        experimentsWon += other.experimentsWon;
+        playtimeSeconds += other.playtimeSeconds;
+    }
+}
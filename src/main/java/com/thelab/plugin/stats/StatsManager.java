@@ -1,121 +1,74 @@
 package com.thelab.plugin.stats;
 
+import com.thelab.plugin.TheLabPlugin;
 import com.thelab.plugin.arena.Arena;
+import com.thelab.plugin.config.ConfigManager;
 import com.thelab.plugin.game.ScoreManager;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.*;
 import java.sql.*;
 import java.util.*;
 import java.util.logging.Level;
 
-/** Manages player statistics with SQLite storage. */
+/**
+ * Manages player statistics, stored in SQLite or a shared MySQL/MariaDB database.
+ * The cache is owned by the main thread; all database work goes through one {@link StatsWriter}.
+ */
 public class StatsManager {
 
-    private final JavaPlugin plugin;
-    private Connection connection;
+    /** How long shutdown waits for pending stats to be written. */
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final TheLabPlugin plugin;
+    private StatsWriter writer;
     private final Map<UUID, PlayerStats> cache = new HashMap<>();
 
-    public StatsManager(JavaPlugin plugin) {
+    public StatsManager(TheLabPlugin plugin) {
         this.plugin = plugin;
     }
 
-    /** Initializes the database connection. */
+    /** Opens the configured stats store (SQLite or MySQL/MariaDB) and starts the writer. */
     public void initialize() {
+        StatsStorage storage = null;
         try {
-            File dbFile = new File(plugin.getDataFolder(), "stats.db");
-            connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
-            createTables();
-        } catch (SQLException e) {
+            storage = createStorage();
+            storage.initialize();
+            writer = new StatsWriter(storage, plugin.getLogger());
+        } catch (SQLException | RuntimeException e) {
+            // RuntimeException covers the pool failing to reach the server when it is created
             plugin.getLogger().log(Level.SEVERE, "Failed to initialize stats database", e);
+            if (storage != null) storage.close();
         }
     }
 
-    private void createTables() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS tl_stats (
-                    uuid TEXT PRIMARY KEY,
-                    player_name TEXT,
-                    games_played INTEGER DEFAULT 0,
-                    wins INTEGER DEFAULT 0,
-                    losses INTEGER DEFAULT 0,
-                    kills INTEGER DEFAULT 0,
-                    deaths INTEGER DEFAULT 0,
-                    points_earned INTEGER DEFAULT 0,
-                    experiments_won INTEGER DEFAULT 0,
-                    playtime_seconds INTEGER DEFAULT 0
-                )
-            """);
-        }
+    private StatsStorage createStorage() {
+        ConfigManager cm = plugin.getConfigManager();
+        return switch (cm.getDatabaseType().toUpperCase()) {
+            case "MYSQL", "MARIADB" -> new MySqlStatsStorage(cm.getMysqlHost(), cm.getMysqlPort(),
+                    cm.getMysqlDatabase(), cm.getMysqlUsername(), cm.getMysqlPassword(), cm.isMysqlUseSsl(),
+                    cm.getMysqlPoolSize(), cm.getMysqlTablePrefix());
+            default -> new SqliteStatsStorage(new File(plugin.getDataFolder(), cm.getSqliteFile()));
+        };
     }
 
     /** Loads stats for a player (async). */
     public void loadStats(UUID uuid, String name) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            PlayerStats stats = loadFromDb(uuid, name);
-            Bukkit.getScheduler().runTask(plugin, () -> cache.put(uuid, stats));
+        if (writer == null) return;
+        writer.load(uuid, name, (id, stats) -> {
+            if (plugin.isEnabled()) Bukkit.getScheduler().runTask(plugin, () -> cache.put(id, stats));
         });
     }
 
-    private PlayerStats loadFromDb(UUID uuid, String name) {
-        try (PreparedStatement ps = connection.prepareStatement(
-                "SELECT * FROM tl_stats WHERE uuid = ?")) {
-            ps.setString(1, uuid.toString());
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                PlayerStats stats = new PlayerStats(uuid, rs.getString("player_name"));
-                stats.setGamesPlayed(rs.getInt("games_played"));
-                stats.setWins(rs.getInt("wins"));
-                stats.setLosses(rs.getInt("losses"));
-                stats.setKills(rs.getInt("kills"));
-                stats.setDeaths(rs.getInt("deaths"));
-                stats.setPointsEarned(rs.getInt("points_earned"));
-                stats.setExperimentsWon(rs.getInt("experiments_won"));
-                stats.setPlaytimeSeconds(rs.getLong("playtime_seconds"));
-                return stats;
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to load stats for " + uuid, e);
-        }
-        return new PlayerStats(uuid, name);
-    }
-
-    /** Saves stats for a player (async). */
-    public void saveStats(PlayerStats stats) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (PreparedStatement ps = connection.prepareStatement("""
-                INSERT INTO tl_stats (uuid, player_name, games_played, wins, losses, kills, deaths,
-                    points_earned, experiments_won, playtime_seconds)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                ON CONFLICT(uuid) DO UPDATE SET
-                    player_name = excluded.player_name,
-                    games_played = excluded.games_played,
-                    wins = excluded.wins,
-                    losses = excluded.losses,
-                    kills = excluded.kills,
-                    deaths = excluded.deaths,
-                    points_earned = excluded.points_earned,
-                    experiments_won = excluded.experiments_won,
-                    playtime_seconds = excluded.playtime_seconds
-            """)) {
-                ps.setString(1, stats.getUuid().toString());
-                ps.setString(2, stats.getPlayerName());
-                ps.setInt(3, stats.getGamesPlayed());
-                ps.setInt(4, stats.getWins());
-                ps.setInt(5, stats.getLosses());
-                ps.setInt(6, stats.getKills());
-                ps.setInt(7, stats.getDeaths());
-                ps.setInt(8, stats.getPointsEarned());
-                ps.setInt(9, stats.getExperimentsWon());
-                ps.setLong(10, stats.getPlaytimeSeconds());
-                ps.executeUpdate();
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.WARNING, "Failed to save stats for " + stats.getUuid(), e);
-            }
-        });
+    /**
+     * Queues a stats change to be added in the database, and applies it to the cached stats if
+     * the player's are loaded. Main thread only.
+     */
+    public void record(StatsDelta delta) {
+        PlayerStats cached = cache.get(delta.getUuid());
+        if (cached != null) cached.apply(delta);
+        if (writer != null) writer.add(delta);
     }
 
     /** Gets cached stats for a player. */
@@ -123,22 +76,20 @@ public class StatsManager {
         return cache.getOrDefault(uuid, new PlayerStats(uuid, "Unknown"));
     }
 
-    /** Records game end, updating stats for all players. */
+    /** Records game end as one delta per player; nobody's stats need to be loaded. Main thread only. */
     public void recordGameEnd(Arena arena, ScoreManager scores, UUID winnerUUID) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            for (UUID uuid : scores.getPlayers()) {
-                PlayerStats stats = cache.computeIfAbsent(uuid,
-                        u -> new PlayerStats(u, Optional.ofNullable(Bukkit.getOfflinePlayer(u).getName()).orElse("Unknown")));
-                stats.incrementGamesPlayed();
-                stats.addPoints(scores.getTotalScore(uuid));
-                if (uuid.equals(winnerUUID)) {
-                    stats.incrementWins();
-                } else {
-                    stats.incrementLosses();
-                }
-                saveStats(stats);
+        for (UUID uuid : scores.getPlayers()) {
+            Player player = Bukkit.getPlayer(uuid);
+            StatsDelta delta = new StatsDelta(uuid, player != null ? player.getName() : null)
+                    .addGamesPlayed(1)
+                    .addPoints(scores.getTotalScore(uuid));
+            if (uuid.equals(winnerUUID)) {
+                delta.addWins(1);
+            } else {
+                delta.addLosses(1);
             }
-        });
+            record(delta);
+        }
     }
 
     /** Returns top N players by wins. */
@@ -154,10 +105,11 @@ public class StatsManager {
         return list.subList(0, Math.min(limit, list.size()));
     }
 
-    /** Closes the database connection. */
+    /** Writes all pending stats changes, then closes the stats store. */
     public void shutdown() {
-        try {
-            if (connection != null && !connection.isClosed()) connection.close();
-        } catch (SQLException ignored) {}
+        if (writer != null) {
+            writer.shutdown(SHUTDOWN_TIMEOUT_MS);
+            writer = null;
+        }
     }
 }
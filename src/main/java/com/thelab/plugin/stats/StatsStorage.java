@@ -0,0 +1,28 @@
+package com.thelab.plugin.stats;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A database holding player stats. Implementations are not thread-safe; {@link StatsWriter}
+ * calls them from its own thread only.
+ */
+public interface StatsStorage {
+
+    /** Connects and creates the stats table if missing. */
+    void initialize() throws SQLException;
+
+    /** Returns a player's stored stats, or null if they have no row. */
+    PlayerStats load(UUID uuid) throws SQLException;
+
+    /**
+     * Adds each delta to its player's row, creating missing rows, in one transaction; on failure
+     * nothing is written. Increments are applied by the database, so concurrent writers (e.g.
+     * several servers) never overwrite each other.
+     */
+    void addAll(Collection<StatsDelta> batch) throws SQLException;
+
+    /** Releases the connection or pool. */
+    void close();
+}
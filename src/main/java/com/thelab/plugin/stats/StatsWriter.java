@@ -0,0 +1,183 @@
+package com.thelab.plugin.stats;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Owns a {@link StatsStorage} and does all of its I/O on one thread.
+ * Writes are write-behind: callers hand over a stats delta and return at once. Deltas for the
+ * same player are summed until written, so the pending set holds at most one entry per player
+ * and is bounded; when it is full, callers wait for the writer (backpressure).
+ * Each pass writes every pending delta in one transaction, then serves loads, so a load always
+ * includes that player's earlier deltas.
+ */
+public class StatsWriter {
+
+    /** Maximum distinct players waiting to be written. */
+    private static final int CAPACITY = 4096;
+    /** Pause before retrying after a failed batch. */
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final StatsStorage storage;
+    private final Logger logger;
+    private final Thread thread;
+
+    // Guarded by this
+    private Map<UUID, StatsDelta> pending = new LinkedHashMap<>();
+    private List<Load> loads = new ArrayList<>();
+    private boolean running = true;
+
+    /** A queued load and where to deliver it. */
+    private static final class Load {
+        final UUID uuid;
+        final String name;
+        final BiConsumer<UUID, PlayerStats> callback;
+
+        Load(UUID uuid, String name, BiConsumer<UUID, PlayerStats> callback) {
+            this.uuid = uuid;
+            this.name = name;
+            this.callback = callback;
+        }
+    }
+
+    /** Takes ownership of an initialized storage and starts the writer thread. */
+    public StatsWriter(StatsStorage storage, Logger logger) {
+        this.storage = storage;
+        this.logger = logger;
+        this.thread = new Thread(this::run, "TheLab-Stats");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a delta to be added to the player's stored stats, merging it into any unwritten
+     * one for the same player. The delta must not be modified afterwards.
+     */
+    public void add(StatsDelta delta) {
+        synchronized (this) {
+            while (running && pending.size() >= CAPACITY && !pending.containsKey(delta.getUuid())) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (!running) {
+                logger.warning("Stats for " + delta.getUuid() + " dropped: writer is shut down");
+                return;
+            }
+            StatsDelta queued = pending.putIfAbsent(delta.getUuid(), delta);
+            if (queued != null) queued.merge(delta);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Loads a player's stats on the writer thread.
+     * @param callback receives the stats on the writer thread; hand them to the main thread yourself
+     */
+    public void load(UUID uuid, String name, BiConsumer<UUID, PlayerStats> callback) {
+        synchronized (this) {
+            if (!running) return;
+            loads.add(new Load(uuid, name, callback));
+            notifyAll();
+        }
+    }
+
+    /** Writes everything still pending, then closes the storage. Waits up to {@code timeoutMs}. */
+    public void shutdown(long timeoutMs) {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        try {
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) logger.warning("Stats writer did not finish within " + timeoutMs + " ms");
+    }
+
+    private void run() {
+        while (true) {
+            Map<UUID, StatsDelta> batch;
+            List<Load> batchLoads;
+            boolean last;
+            synchronized (this) {
+                while (running && pending.isEmpty() && loads.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        running = false;
+                    }
+                }
+                last = !running;
+                batch = pending;
+                batchLoads = loads;
+                pending = new LinkedHashMap<>();
+                loads = new ArrayList<>();
+                notifyAll();    // wake savers waiting for room
+            }
+
+            if (!batch.isEmpty() && !write(batch) && !last) {
+                requeue(batch);
+                pause();
+            }
+            for (Load load : batchLoads) {
+                load.callback.accept(load.uuid, read(load.uuid, load.name));
+            }
+            if (last) break;
+        }
+        storage.close();
+    }
+
+    /** Writes a batch in one transaction. Returns false if it was rolled back. */
+    private boolean write(Map<UUID, StatsDelta> batch) {
+        try {
+            storage.addAll(batch.values());
+            return true;
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Failed to save stats for " + batch.size() + " players", e);
+            return false;
+        }
+    }
+
+    /** Puts a failed batch back, summed with any deltas that arrived meanwhile. */
+    private void requeue(Map<UUID, StatsDelta> batch) {
+        synchronized (this) {
+            for (StatsDelta newer : pending.values()) {
+                StatsDelta failed = batch.putIfAbsent(newer.getUuid(), newer);
+                if (failed != null) failed.merge(newer);
+            }
+            pending = batch;
+        }
+    }
+
+    private PlayerStats read(UUID uuid, String name) {
+        PlayerStats stats = null;
+        try {
+            stats = storage.load(uuid);
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Failed to load stats for " + uuid, e);
+        }
+        if (stats == null) stats = new PlayerStats(uuid, name);
+        // Deltas queued but not yet written are not in the row
+        synchronized (this) {
+            StatsDelta queued = pending.get(uuid);
+            if (queued != null) stats.apply(queued);
+        }
+        return stats;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.thelab.plugin.utils;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Uniform spatial hash over horizontal (x, z) cells for proximity queries.
+ * Meant to be cleared and refilled every tick from current positions; queries
+ * only visit the cells the search radius overlaps and then check exact 3D distance.
+ * Cells and entries live in primitive arrays, so a refill allocates nothing once they have grown.
+ * Not thread-safe.
+ */
+public final class SpatialHashGrid<T> {
+
+    private final double cellSize;
+    // Open-addressing cell key -> index of the cell's first entry; -1 marks an empty slot
+    private long[] cellKeys = new long[16];
+    private int[] cellHeads = filled(16);
+    private int cellCount;
+    private Object[] items = new Object[16];
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+    private double[] zs = new double[16];
+    private int[] next = new int[16];
+    private int size;
+
+    public SpatialHashGrid(double cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive");
+        this.cellSize = cellSize;
+    }
+
+    /** Removes every entry, keeping the backing arrays for the next fill. */
+    public void clear() {
+        Arrays.fill(cellHeads, -1);
+        cellCount = 0;
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    /** Adds an entry at the given position. */
+    public void insert(T item, double x, double y, double z) {
+        if (size == items.length) grow();
+        items[size] = item;
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        long key = key(cell(x), cell(z));
+        int slot = slot(key);
+        if (cellHeads[slot] < 0) {
+            if (++cellCount * 2 > cellKeys.length) {
+                rehash();
+                slot = slot(key);
+            }
+            cellKeys[slot] = key;
+        }
+        next[size] = cellHeads[slot];
+        cellHeads[slot] = size;
+        size++;
+    }
+
+    /** Passes every entry strictly closer than {@code radius} to the position to {@code action}. */
+    @SuppressWarnings("unchecked")
+    public void forEachNear(double x, double y, double z, double radius, Consumer<? super T> action) {
+        double r2 = radius * radius;
+        int minCx = cell(x - radius), maxCx = cell(x + radius);
+        int minCz = cell(z - radius), maxCz = cell(z + radius);
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                for (int i = cellHeads[slot(key(cx, cz))]; i >= 0; i = next[i]) {
+                    double dx = xs[i] - x, dy = ys[i] - y, dz = zs[i] - z;
+                    if (dx * dx + dy * dy + dz * dz < r2) action.accept((T) items[i]);
+                }
+            }
+        }
+    }
+
+    public int size() { return size; }
+
+    private int cell(double coord) {
+        return (int) Math.floor(coord / cellSize);
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    /** Returns the slot holding {@code key}, or the empty slot where it would go. */
+    private int slot(long key) {
+        int mask = cellKeys.length - 1;
+        int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (cellHeads[slot] >= 0 && cellKeys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /** Doubles the cell table, moving every occupied cell. */
+    private void rehash() {
+        long[] oldKeys = cellKeys;
+        int[] oldHeads = cellHeads;
+        cellKeys = new long[oldKeys.length * 2];
+        cellHeads = filled(cellKeys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] < 0) continue;
+            int slot = slot(oldKeys[i]);
+            cellKeys[slot] = oldKeys[i];
+            cellHeads[slot] = oldHeads[i];
+        }
+    }
+
+    private static int[] filled(int length) {
+        int[] array = new int[length];
+        Arrays.fill(array, -1);
+        return array;
+    }
+
+    private void grow() {
+        int capacity = items.length * 2;
+        items = Arrays.copyOf(items, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+        next = Arrays.copyOf(next, capacity);
+    }
+}